@@ -0,0 +1,70 @@
+package com.givaudan.service;
+
+import com.givaudan.config.ApplicationProperties;
+import com.givaudan.domain.Contact;
+import com.givaudan.service.criteria.ContactCriteria;
+import com.givaudan.service.criteria.ContactCriteriaBindingBenchmark;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Benchmark of the conversion of typical {@link ContactCriteria} to the {@link Specification} of
+ * {@link ContactQueryService}, without a database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContactQueryServiceBenchmark {
+
+    @Param({ "nom", "nomAndAge", "ids", "all" })
+    public String query;
+
+    private ContactQueryService contactQueryService;
+
+    private ContactCriteria criteria;
+
+    @Setup
+    public void setUp() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        contactQueryService =
+            new ContactQueryService(
+                null,
+                null,
+                applicationProperties,
+                new ContactQueryCache(applicationProperties, meterRegistry),
+                null,
+                new StandardEnvironment(),
+                meterRegistry
+            );
+        criteria = ContactCriteriaBindingBenchmark.bind(ContactCriteriaBindingBenchmark.QUERIES.get(query));
+    }
+
+    @TearDown
+    public void tearDown() {
+        contactQueryService.shutdown();
+    }
+
+    @Benchmark
+    public Specification<Contact> createSpecification() {
+        return contactQueryService.createSpecification(criteria);
+    }
+}
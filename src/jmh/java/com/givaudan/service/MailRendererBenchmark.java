@@ -0,0 +1,109 @@
+package com.givaudan.service;
+
+import com.givaudan.config.ApplicationProperties;
+import com.givaudan.config.Constants;
+import com.givaudan.domain.User;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Benchmark of the rendering of the emails by {@link MailRenderer}, in renders per second, compared to rendering them
+ * with a new buffer and resolving their subject each time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class MailRendererBenchmark {
+
+    private static final Map<String, String> TEMPLATES = Map.of(
+        "activation",
+        MailService.ACTIVATION_TEMPLATE,
+        "creation",
+        MailService.CREATION_TEMPLATE,
+        "passwordReset",
+        MailService.PASSWORD_RESET_TEMPLATE
+    );
+
+    @Param({ "activation", "creation", "passwordReset" })
+    public String template;
+
+    private JHipsterProperties jHipsterProperties;
+
+    private ResourceBundleMessageSource messageSource;
+
+    private SpringTemplateEngine templateEngine;
+
+    private MailRenderer mailRenderer;
+
+    private String templateName;
+
+    private String titleKey;
+
+    private User user;
+
+    @Setup
+    public void setUp() {
+        jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setBaseUrl("http://127.0.0.1:8080");
+        messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/messages");
+        messageSource.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+        mailRenderer = new MailRenderer(jHipsterProperties, new ApplicationProperties(), messageSource, templateEngine);
+        mailRenderer.precompile();
+
+        templateName = TEMPLATES.get(template);
+        titleKey = MailRenderer.TEMPLATES.get(templateName);
+        user = new User();
+        user.setLogin("john.doe");
+        user.setLangKey(Constants.DEFAULT_LANGUAGE);
+        user.setActivationKey("XnZ2Z8UOkYQdnAfO0LQP");
+        user.setResetKey("pA3hq7dY1bLcTL7dE1wM");
+    }
+
+    @Benchmark
+    public MailRenderer.RenderedMail render() {
+        return mailRenderer.render(user, templateName, titleKey);
+    }
+
+    @Benchmark
+    public MailRenderer.RenderedMail renderWithoutReuse() {
+        Locale locale = Locale.forLanguageTag(user.getLangKey());
+        Context context = new Context(locale);
+        context.setVariable("user", user);
+        context.setVariable("baseUrl", jHipsterProperties.getMail().getBaseUrl());
+        String content = templateEngine.process(templateName, context);
+        return new MailRenderer.RenderedMail(messageSource.getMessage(titleKey, null, locale), content);
+    }
+}
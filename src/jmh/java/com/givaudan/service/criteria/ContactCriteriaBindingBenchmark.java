@@ -0,0 +1,92 @@
+package com.givaudan.service.criteria;
+
+import com.givaudan.config.DateTimeFormatConfiguration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.web.format.DateTimeFormatters;
+import org.springframework.boot.autoconfigure.web.format.WebConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.web.bind.ServletRequestDataBinder;
+
+/**
+ * Benchmark of the binding of {@link ContactCriteria} from the parameters of a request, as done by Spring MVC for
+ * {@link com.givaudan.web.rest.ContactResource}, with the conversion service of the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContactCriteriaBindingBenchmark {
+
+    /**
+     * Typical query strings of the list of contacts, by name.
+     */
+    public static final Map<String, String> QUERIES = Map.of(
+        "nom",
+        "nom.contains=mar",
+        "nomAndAge",
+        "nom.contains=mar&age.greaterThan=18&age.lessThan=65",
+        "ids",
+        "id.in=1001,1002,1003,1004,1005,1006,1007,1008,1009,1010",
+        "all",
+        "id.greaterThan=1000&nom.contains=mar&prenom.equals=Jean&age.greaterThanOrEqual=18" +
+        "&address.doesNotContain=cedex&codepostal.in=75001,75002,75003&distinct=false"
+    );
+
+    private static final WebConversionService CONVERSION_SERVICE = conversionService();
+
+    @Param({ "nom", "nomAndAge", "ids", "all" })
+    public String query;
+
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        request = request(QUERIES.get(query));
+    }
+
+    @Benchmark
+    public ContactCriteria bind() {
+        return bind(request);
+    }
+
+    /**
+     * Bind the criteria of a query string.
+     */
+    public static ContactCriteria bind(String queryString) {
+        return bind(request(queryString));
+    }
+
+    private static ContactCriteria bind(MockHttpServletRequest request) {
+        ContactCriteria criteria = new ContactCriteria();
+        ServletRequestDataBinder binder = new ServletRequestDataBinder(criteria, "contactCriteria");
+        binder.setConversionService(CONVERSION_SERVICE);
+        binder.bind(request);
+        return criteria;
+    }
+
+    private static MockHttpServletRequest request(String queryString) {
+        return MockMvcRequestBuilders.get("/api/contacts?" + queryString).buildRequest(new MockServletContext());
+    }
+
+    private static WebConversionService conversionService() {
+        WebConversionService conversionService = new WebConversionService(new DateTimeFormatters());
+        new DateTimeFormatConfiguration().addFormatters(conversionService);
+        return conversionService;
+    }
+}
@@ -0,0 +1,64 @@
+package com.givaudan.service.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.givaudan.config.JacksonConfiguration;
+import com.givaudan.service.mapper.ContactMapperBenchmark;
+import com.givaudan.service.mapper.ContactMapperImpl;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Benchmark of the serialization of lists of {@link ContactDTO} to JSON, by the {@link ObjectMapper} configured by Spring
+ * Boot with the modules of {@link JacksonConfiguration}, as in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContactDTOJsonBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int size;
+
+    private AnnotationConfigApplicationContext context;
+
+    private ObjectWriter writer;
+
+    private List<ContactDTO> contacts;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(JacksonAutoConfiguration.class, JacksonConfiguration.class);
+        writer = context.getBean(ObjectMapper.class).writerFor(new TypeReference<List<ContactDTO>>() {});
+        contacts = new ContactMapperImpl().toDto(ContactMapperBenchmark.contacts(size));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] write() throws JsonProcessingException {
+        return writer.writeValueAsBytes(contacts);
+    }
+}
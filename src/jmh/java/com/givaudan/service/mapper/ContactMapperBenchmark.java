@@ -0,0 +1,66 @@
+package com.givaudan.service.mapper;
+
+import com.givaudan.domain.Contact;
+import com.givaudan.service.dto.ContactDTO;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the mapping of lists of {@link Contact} entities to {@link ContactDTO} by the generated {@link ContactMapper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContactMapperBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int size;
+
+    private final ContactMapper contactMapper = new ContactMapperImpl();
+
+    private List<Contact> contacts;
+
+    @Setup
+    public void setUp() {
+        contacts = contacts(size);
+    }
+
+    @Benchmark
+    public List<ContactDTO> toDto() {
+        return contactMapper.toDto(contacts);
+    }
+
+    /**
+     * Contacts with all their fields set, as read from the database.
+     */
+    public static List<Contact> contacts(int size) {
+        return LongStream
+            .rangeClosed(1, size)
+            .mapToObj(i ->
+                new Contact()
+                    .id(i)
+                    .nom("NOM " + Long.toHexString(i * 31))
+                    .prenom("Prenom " + Long.toHexString(i * 17))
+                    .age((int) (i % 100))
+                    .address(i % 300 + " rue de la Paix")
+                    .codepostal((int) (10000 + i % 90000))
+                    .version(i % 5)
+            )
+            .toList();
+    }
+}
@@ -0,0 +1,78 @@
+package com.givaudan.config;
+
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
+import io.undertow.util.StatusCodes;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Undertow handler running the requests under a path on the given executor, instead of the worker threads, with a bounded
+ * number of requests at once.
+ * <p>
+ * A request holds its permit until its response is complete, including the asynchronous ones. A request which doesn't get
+ * a permit in time is rejected with {@code 503 Service Unavailable}. The other requests are left to the next handler.
+ */
+public class ApiDispatchHandler implements HttpHandler {
+
+    private final HttpHandler next;
+
+    private final String pathPrefix;
+
+    private final Executor executor;
+
+    private final Semaphore permits;
+
+    private final long acquireTimeoutMillis;
+
+    private final Runnable onRejected;
+
+    public ApiDispatchHandler(
+        HttpHandler next,
+        String pathPrefix,
+        Executor executor,
+        Semaphore permits,
+        long acquireTimeoutMillis,
+        Runnable onRejected
+    ) {
+        this.next = next;
+        this.pathPrefix = pathPrefix;
+        this.executor = executor;
+        this.permits = permits;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.onRejected = onRejected;
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        if (!exchange.isInIoThread() || !exchange.getRequestPath().startsWith(pathPrefix)) {
+            next.handleRequest(exchange);
+            return;
+        }
+        exchange.dispatch(executor, this::handleWithPermit);
+    }
+
+    private void handleWithPermit(HttpServerExchange exchange) throws Exception {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            onRejected.run();
+            exchange.setStatusCode(StatusCodes.SERVICE_UNAVAILABLE);
+            exchange.getResponseHeaders().put(Headers.RETRY_AFTER, 1);
+            exchange.endExchange();
+            return;
+        }
+        exchange.addExchangeCompleteListener((completed, nextListener) -> {
+            permits.release();
+            nextListener.proceed();
+        });
+        next.handleRequest(exchange);
+    }
+}
@@ -1,5 +1,9 @@
 package com.givaudan.config;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -10,7 +14,634 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final Export export = new Export();
+
+    private final Bulk bulk = new Bulk();
+
+    private final CsvImport csvImport = new CsvImport();
+
+    private final Suggest suggest = new Suggest();
+
+    private final Count count = new Count();
+
+    private final QueryCache queryCache = new QueryCache();
+
+    private final RequestExecution requestExecution = new RequestExecution();
+
+    private final Async async = new Async();
+
+    private final MailOutbox mailOutbox = new MailOutbox();
+
+    private final MailTransport mailTransport = new MailTransport();
+
+    private final MailTemplates mailTemplates = new MailTemplates();
+
+    private final JwtCache jwtCache = new JwtCache();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final UserDetailsCache userDetailsCache = new UserDetailsCache();
+
     // jhipster-needle-application-properties-property
+
+    public Export getExport() {
+        return export;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public CsvImport getCsvImport() {
+        return csvImport;
+    }
+
+    public Suggest getSuggest() {
+        return suggest;
+    }
+
+    public Count getCount() {
+        return count;
+    }
+
+    public QueryCache getQueryCache() {
+        return queryCache;
+    }
+
+    public RequestExecution getRequestExecution() {
+        return requestExecution;
+    }
+
+    public Async getAsync() {
+        return async;
+    }
+
+    public MailOutbox getMailOutbox() {
+        return mailOutbox;
+    }
+
+    public MailTransport getMailTransport() {
+        return mailTransport;
+    }
+
+    public MailTemplates getMailTemplates() {
+        return mailTemplates;
+    }
+
+    public JwtCache getJwtCache() {
+        return jwtCache;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public UserDetailsCache getUserDetailsCache() {
+        return userDetailsCache;
+    }
+
     // jhipster-needle-application-properties-property-getter
+
+    public static class Export {
+
+        /**
+         * Number of rows fetched by the JDBC driver per round trip when streaming an export.
+         */
+        private int fetchSize = 1000;
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+    }
+
+    public static class Bulk {
+
+        /**
+         * Maximum number of contacts accepted by a single bulk request.
+         */
+        private int maxItems = 10000;
+
+        public int getMaxItems() {
+            return maxItems;
+        }
+
+        public void setMaxItems(int maxItems) {
+            this.maxItems = maxItems;
+        }
+    }
+
+    public static class CsvImport {
+
+        /**
+         * Maximum number of CSV imports running at once, the following ones are rejected.
+         */
+        private int maxConcurrency = 2;
+
+        /**
+         * Maximum number of distinct values of nom, and of prenom, counted by an import to update the suggestions, beyond
+         * which the suggestions are rebuilt once the import is committed.
+         */
+        private int maxCountedNames = 100000;
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public int getMaxCountedNames() {
+            return maxCountedNames;
+        }
+
+        public void setMaxCountedNames(int maxCountedNames) {
+            this.maxCountedNames = maxCountedNames;
+        }
+    }
+
+    public static class Suggest {
+
+        /**
+         * Number of milliseconds between two rebuilds of the suggestions from the database, correcting the rare changes
+         * counted twice by the previous rebuild.
+         */
+        private long rebuildIntervalMillis = 3600000;
+
+        public long getRebuildIntervalMillis() {
+            return rebuildIntervalMillis;
+        }
+
+        public void setRebuildIntervalMillis(long rebuildIntervalMillis) {
+            this.rebuildIntervalMillis = rebuildIntervalMillis;
+        }
+    }
+
+    public static class Count {
+
+        /**
+         * Estimated number of contacts below which unfiltered counts are exact, as they are cheap and the estimate of a
+         * small table is inaccurate.
+         */
+        private long exactThreshold = 100000;
+
+        /**
+         * Whether the pages of filtered contacts are read at the same time as their total count, on another connection
+         * sharing the snapshot of the transaction of the page.
+         */
+        private boolean parallel = false;
+
+        /**
+         * Maximum number of counts run in parallel with their page, beyond which they run after it. Each of them holds a
+         * second connection, so it is capped to a quarter of the size of the connection pool.
+         */
+        private int parallelMaxConcurrency = 4;
+
+        /**
+         * Number of milliseconds a page waits for its parallel count once read, beyond which the count is cancelled and
+         * run after the page on its connection. The statement of the parallel count is also cancelled by the database once
+         * it runs this long.
+         */
+        private long parallelTimeoutMillis = 500;
+
+        public long getExactThreshold() {
+            return exactThreshold;
+        }
+
+        public void setExactThreshold(long exactThreshold) {
+            this.exactThreshold = exactThreshold;
+        }
+
+        public boolean isParallel() {
+            return parallel;
+        }
+
+        public void setParallel(boolean parallel) {
+            this.parallel = parallel;
+        }
+
+        public int getParallelMaxConcurrency() {
+            return parallelMaxConcurrency;
+        }
+
+        public void setParallelMaxConcurrency(int parallelMaxConcurrency) {
+            this.parallelMaxConcurrency = parallelMaxConcurrency;
+        }
+
+        public long getParallelTimeoutMillis() {
+            return parallelTimeoutMillis;
+        }
+
+        public void setParallelTimeoutMillis(long parallelTimeoutMillis) {
+            this.parallelTimeoutMillis = parallelTimeoutMillis;
+        }
+    }
+
+    public static class QueryCache {
+
+        /**
+         * Number of seconds a page or count of filtered contacts is cached, which bounds how long the changes made by other
+         * instances of the application, or outside of it, may be missed.
+         */
+        private int ttlSeconds = 60;
+
+        /**
+         * Maximum number of contacts held by the cached pages, a cached count weighing one contact.
+         */
+        private long maxContacts = 100000;
+
+        /**
+         * Maximum number of filter shapes whose hit ratio is published, the others being published as a single shape.
+         */
+        private int maxShapes = 100;
+
+        public int getTtlSeconds() {
+            return ttlSeconds;
+        }
+
+        public void setTtlSeconds(int ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+        }
+
+        public long getMaxContacts() {
+            return maxContacts;
+        }
+
+        public void setMaxContacts(long maxContacts) {
+            this.maxContacts = maxContacts;
+        }
+
+        public int getMaxShapes() {
+            return maxShapes;
+        }
+
+        public void setMaxShapes(int maxShapes) {
+            this.maxShapes = maxShapes;
+        }
+    }
+
+    public static class RequestExecution {
+
+        /**
+         * Threads running the requests of the API: the worker threads of Undertow, or a virtual thread by request, which
+         * needs Java 21.
+         */
+        private Mode mode = Mode.WORKER;
+
+        /**
+         * Maximum number of requests of the API run at once on virtual threads, the size of the connection pool by
+         * default.
+         */
+        private int maxConcurrency = 0;
+
+        /**
+         * Number of milliseconds a request of the API waits for its turn on a virtual thread, before being rejected with
+         * 503 Service Unavailable.
+         */
+        private long acquireTimeoutMillis = 1000;
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public long getAcquireTimeoutMillis() {
+            return acquireTimeoutMillis;
+        }
+
+        public void setAcquireTimeoutMillis(long acquireTimeoutMillis) {
+            this.acquireTimeoutMillis = acquireTimeoutMillis;
+        }
+
+        public enum Mode {
+            WORKER,
+            VIRTUAL,
+        }
+    }
+
+    public static class Async {
+
+        /**
+         * Whether the asynchronous tasks run on virtual threads, which needs Java 21, rather than on platform threads.
+         */
+        private boolean virtualThreads = false;
+
+        /**
+         * The executors of the asynchronous tasks, by type of task.
+         */
+        private final Map<String, Executor> executors = new LinkedHashMap<>();
+
+        public boolean isVirtualThreads() {
+            return virtualThreads;
+        }
+
+        public void setVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+        }
+
+        public Map<String, Executor> getExecutors() {
+            return executors;
+        }
+
+        public static class Executor {
+
+            /**
+             * Maximum number of tasks run at once.
+             */
+            private int concurrency = 8;
+
+            /**
+             * Maximum number of tasks waiting for their turn, beyond which the tasks are rejected.
+             */
+            private int queueCapacity = 10000;
+
+            /**
+             * What happens to a rejected task.
+             */
+            private RejectionPolicy rejectionPolicy = RejectionPolicy.CALLER_RUNS;
+
+            public int getConcurrency() {
+                return concurrency;
+            }
+
+            public void setConcurrency(int concurrency) {
+                this.concurrency = concurrency;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+
+            public RejectionPolicy getRejectionPolicy() {
+                return rejectionPolicy;
+            }
+
+            public void setRejectionPolicy(RejectionPolicy rejectionPolicy) {
+                this.rejectionPolicy = rejectionPolicy;
+            }
+        }
+
+        public enum RejectionPolicy {
+            /**
+             * The task is run by the thread submitting it, which slows the submitters down.
+             */
+            CALLER_RUNS,
+            /**
+             * The oldest task waiting is dropped to make room for the task.
+             */
+            DROP_OLDEST,
+            /**
+             * The submission of the task fails with a {@link org.springframework.core.task.TaskRejectedException}.
+             */
+            FAIL,
+        }
+    }
+
+    public static class MailOutbox {
+
+        /**
+         * Number of milliseconds between two deliveries of the pending mails.
+         */
+        private long pollIntervalMillis = 1000;
+
+        /**
+         * Maximum number of mails claimed and delivered at once, on a single connection to the SMTP server.
+         */
+        private int batchSize = 50;
+
+        /**
+         * Number of attempts to deliver a mail, after which it is kept as failed.
+         */
+        private int maxAttempts = 10;
+
+        /**
+         * Number of seconds before the second attempt to deliver a mail, doubled at each of the next attempts.
+         */
+        private long initialBackoffSeconds = 10;
+
+        /**
+         * Maximum number of seconds between two attempts to deliver a mail.
+         */
+        private long maxBackoffSeconds = 3600;
+
+        public long getPollIntervalMillis() {
+            return pollIntervalMillis;
+        }
+
+        public void setPollIntervalMillis(long pollIntervalMillis) {
+            this.pollIntervalMillis = pollIntervalMillis;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getInitialBackoffSeconds() {
+            return initialBackoffSeconds;
+        }
+
+        public void setInitialBackoffSeconds(long initialBackoffSeconds) {
+            this.initialBackoffSeconds = initialBackoffSeconds;
+        }
+
+        public long getMaxBackoffSeconds() {
+            return maxBackoffSeconds;
+        }
+
+        public void setMaxBackoffSeconds(long maxBackoffSeconds) {
+            this.maxBackoffSeconds = maxBackoffSeconds;
+        }
+    }
+
+    public static class MailTransport {
+
+        /**
+         * Maximum number of idle connections to the SMTP server kept open for the next sends.
+         */
+        private int poolSize = 4;
+
+        /**
+         * Number of milliseconds after which an idle connection to the SMTP server is closed rather than reused.
+         */
+        private long maxIdleMillis = 30000;
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public long getMaxIdleMillis() {
+            return maxIdleMillis;
+        }
+
+        public void setMaxIdleMillis(long maxIdleMillis) {
+            this.maxIdleMillis = maxIdleMillis;
+        }
+    }
+
+    public static class MailTemplates {
+
+        /**
+         * Languages the mail templates are rendered in once at startup, those of the users, the default language always being one of them.
+         */
+        private List<String> languages = new ArrayList<>(List.of(Constants.DEFAULT_LANGUAGE));
+
+        public List<String> getLanguages() {
+            return languages;
+        }
+
+        public void setLanguages(List<String> languages) {
+            this.languages = languages;
+        }
+    }
+
+    public static class JwtCache {
+
+        /**
+         * Maximum number of validated tokens kept, each until its expiration at most.
+         */
+        private long maximumSize = 10000;
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
+
+    public static class PasswordHashing {
+
+        /**
+         * Maximum number of passwords hashed at once, the number of cores when 0.
+         */
+        private int concurrency = 0;
+
+        /**
+         * Maximum number of passwords waiting to be hashed, the following ones are rejected with 503 Service Unavailable.
+         */
+        private int queueCapacity = 100;
+
+        /**
+         * Number of failed logins in a row after which the next attempts of the same login, from the same client address,
+         * are rejected before hashing.
+         */
+        private int maxFailedLogins = 5;
+
+        /**
+         * Number of seconds after its last failure for which a login is rejected from a client, and its failures are kept.
+         */
+        private long failedLoginsTtlSeconds = 300;
+
+        /**
+         * Maximum number of logins and client addresses whose failures are kept.
+         */
+        private long maxTrackedLogins = 100000;
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getMaxFailedLogins() {
+            return maxFailedLogins;
+        }
+
+        public void setMaxFailedLogins(int maxFailedLogins) {
+            this.maxFailedLogins = maxFailedLogins;
+        }
+
+        public long getFailedLoginsTtlSeconds() {
+            return failedLoginsTtlSeconds;
+        }
+
+        public void setFailedLoginsTtlSeconds(long failedLoginsTtlSeconds) {
+            this.failedLoginsTtlSeconds = failedLoginsTtlSeconds;
+        }
+
+        public long getMaxTrackedLogins() {
+            return maxTrackedLogins;
+        }
+
+        public void setMaxTrackedLogins(long maxTrackedLogins) {
+            this.maxTrackedLogins = maxTrackedLogins;
+        }
+    }
+
+    public static class UserDetailsCache {
+
+        /**
+         * Maximum number of users kept for the authentication, by login and by email.
+         */
+        private long maximumSize = 10000;
+
+        /**
+         * Number of seconds a user is kept for, bounding how long the changes made by another instance are ignored.
+         */
+        private long ttlSeconds = 60;
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public long getTtlSeconds() {
+            return ttlSeconds;
+        }
+
+        public void setTtlSeconds(long ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -1,6 +1,14 @@
 package com.givaudan.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
@@ -15,34 +23,142 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import tech.jhipster.async.ExceptionHandlingAsyncTaskExecutor;
 
+/**
+ * Configuration of the executors of the asynchronous tasks, one by type of task.
+ * <p>
+ * Each executor runs at most its concurrency of tasks at once, on platform or virtual threads, queues a bounded number of
+ * tasks, and rejects the others according to its policy. Their queue depth, active count, task wait and run times and
+ * rejections are published as the {@code executor.*} meters, tagged with the name of the executor.
+ */
 @Configuration
 @EnableAsync
 @EnableScheduling
 @Profile("!testdev & !testprod")
 public class AsyncConfiguration implements AsyncConfigurer {
 
+    /**
+     * Type of the tasks run by the default executor.
+     */
+    public static final String TASK = "task";
+
+    public static final String REJECTED_METER_NAME = "executor.rejected";
+
     private final Logger log = LoggerFactory.getLogger(AsyncConfiguration.class);
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    public AsyncConfiguration(
+        TaskExecutionProperties taskExecutionProperties,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.applicationProperties = applicationProperties;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
         log.debug("Creating Async Task Executor");
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
-        executor.setMaxPoolSize(taskExecutionProperties.getPool().getMaxSize());
-        executor.setQueueCapacity(taskExecutionProperties.getPool().getQueueCapacity());
-        executor.setThreadNamePrefix(taskExecutionProperties.getThreadNamePrefix());
-        return new ExceptionHandlingAsyncTaskExecutor(executor);
+        return new ExceptionHandlingAsyncTaskExecutor(createExecutor(TASK));
+    }
+
+    @Bean(name = Constants.MAIL_TASK_EXECUTOR)
+    public Executor mailTaskExecutor() {
+        log.debug("Creating Async Mail Executor");
+        return new ExceptionHandlingAsyncTaskExecutor(createExecutor(Constants.MAIL_TASK));
     }
 
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
     }
+
+    /**
+     * Create the executor of a type of task, configured by {@code application.async.executors.<type>}. It is initialized
+     * as a bean.
+     */
+    ThreadPoolTaskExecutor createExecutor(String type) {
+        ApplicationProperties.Async async = applicationProperties.getAsync();
+        ApplicationProperties.Async.Executor properties = async
+            .getExecutors()
+            .getOrDefault(type, new ApplicationProperties.Async.Executor());
+        String threadNamePrefix = TASK.equals(type)
+            ? taskExecutionProperties.getThreadNamePrefix()
+            : taskExecutionProperties.getThreadNamePrefix() + type + "-";
+        Tags tags = Tags.of("name", type);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        // The queue only fills up once all the threads are busy
+        executor.setCorePoolSize(properties.getConcurrency());
+        executor.setMaxPoolSize(properties.getConcurrency());
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix(threadNamePrefix);
+        if (async.isVirtualThreads()) {
+            executor.setThreadFactory(VirtualThreads.factory("application.async.virtual-threads", threadNamePrefix));
+        }
+        executor.setRejectedExecutionHandler(rejectionHandler(properties.getRejectionPolicy(), tags));
+        Timer waits = Timer.builder("executor.idle").description("Time tasks wait for their turn").tags(tags).register(meterRegistry);
+        Timer runs = Timer.builder("executor").description("Time tasks run").tags(tags).register(meterRegistry);
+        executor.setTaskDecorator(task -> {
+            long submitted = System.nanoTime();
+            return () -> {
+                long started = System.nanoTime();
+                waits.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    task.run();
+                } finally {
+                    runs.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            };
+        });
+        Gauge
+            .builder("executor.queued", executor, ThreadPoolTaskExecutor::getQueueSize)
+            .description("Tasks waiting for their turn")
+            .tags(tags)
+            .register(meterRegistry);
+        Gauge
+            .builder("executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+            .description("Tasks running")
+            .tags(tags)
+            .register(meterRegistry);
+        Gauge
+            .builder("executor.queue.remaining", executor, e -> properties.getQueueCapacity() - e.getQueueSize())
+            .description("Tasks which can be queued before rejecting the next ones")
+            .tags(tags)
+            .register(meterRegistry);
+        log.debug(
+            "Async executor '{}': {} tasks at once on {} threads, {} queued at most, rejecting with {}",
+            type,
+            properties.getConcurrency(),
+            async.isVirtualThreads() ? "virtual" : "platform",
+            properties.getQueueCapacity(),
+            properties.getRejectionPolicy()
+        );
+        return executor;
+    }
+
+    private RejectedExecutionHandler rejectionHandler(ApplicationProperties.Async.RejectionPolicy policy, Tags tags) {
+        RejectedExecutionHandler handler =
+            switch (policy) {
+                case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+                case DROP_OLDEST -> new ThreadPoolExecutor.DiscardOldestPolicy();
+                case FAIL -> new ThreadPoolExecutor.AbortPolicy();
+            };
+        Counter rejected = Counter
+            .builder(REJECTED_METER_NAME)
+            .description("Tasks rejected as the queue was full")
+            .tags(tags.and("policy", policy.name().toLowerCase()))
+            .register(meterRegistry);
+        return (task, executor) -> {
+            rejected.increment();
+            handler.rejectedExecution(task, executor);
+        };
+    }
 }
@@ -11,5 +11,9 @@ public final class Constants {
     public static final String SYSTEM = "system";
     public static final String DEFAULT_LANGUAGE = "en";
 
+    // Type of the asynchronous tasks sending mails, and name of their executor
+    public static final String MAIL_TASK = "mail";
+    public static final String MAIL_TASK_EXECUTOR = "mailTaskExecutor";
+
     private Constants() {}
 }
@@ -0,0 +1,48 @@
+package com.givaudan.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Properties;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the sender of the emails, replacing the one of Spring Boot by a {@link PooledJavaMailSender}, which
+ * reuses its connections to the SMTP server. It is configured by the same {@code spring.mail.*} properties.
+ */
+@Configuration
+@EnableConfigurationProperties(MailProperties.class)
+public class MailConfiguration {
+
+    @Bean
+    public PooledJavaMailSender mailSender(
+        MailProperties mailProperties,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        ApplicationProperties.MailTransport mailTransport = applicationProperties.getMailTransport();
+        PooledJavaMailSender sender = new PooledJavaMailSender(
+            mailTransport.getPoolSize(),
+            Duration.ofMillis(mailTransport.getMaxIdleMillis()),
+            meterRegistry
+        );
+        sender.setHost(mailProperties.getHost());
+        if (mailProperties.getPort() != null) {
+            sender.setPort(mailProperties.getPort());
+        }
+        sender.setUsername(mailProperties.getUsername());
+        sender.setPassword(mailProperties.getPassword());
+        sender.setProtocol(mailProperties.getProtocol());
+        if (mailProperties.getDefaultEncoding() != null) {
+            sender.setDefaultEncoding(mailProperties.getDefaultEncoding().name());
+        }
+        if (!mailProperties.getProperties().isEmpty()) {
+            Properties properties = new Properties();
+            properties.putAll(mailProperties.getProperties());
+            sender.setJavaMailProperties(properties);
+        }
+        return sender;
+    }
+}
@@ -0,0 +1,207 @@
+package com.givaudan.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.Nullable;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+/**
+ * A {@link JavaMailSenderImpl} keeping its connections to the SMTP server open between the sends, rather than opening
+ * and closing one, with its TLS handshake and authentication, for each send.
+ * <p>
+ * Each send borrows an idle connection, the most recently used first, checked with a {@code NOOP} and unless idle for
+ * longer than the maximum idle time, or opens a new one, sends all its messages on it, and gives it back to the pool.
+ * A connection failing for another reason than the rejection of the recipients of a message is closed, and the
+ * following messages of the send are sent on a new one. The latency of each message, and the connections opened, reused
+ * and closed on errors or once expired, are published as the {@code mail.transport.*} meters.
+ */
+public class PooledJavaMailSender extends JavaMailSenderImpl implements DisposableBean {
+
+    public static final String CONNECTIONS_METER_NAME = "mail.transport.connections";
+
+    public static final String SEND_METER_NAME = "mail.transport.send";
+
+    private static final String HEADER_MESSAGE_ID = "Message-ID";
+
+    private final Logger log = LoggerFactory.getLogger(PooledJavaMailSender.class);
+
+    private final BlockingDeque<IdleTransport> idle;
+
+    private final long maxIdleNanos;
+
+    private final Timer sentTimer;
+
+    private final Timer failedTimer;
+
+    private final Counter openedCounter;
+
+    private final Counter reusedCounter;
+
+    private final Counter discardedCounter;
+
+    /**
+     * @param poolSize the maximum number of idle connections kept open.
+     * @param maxIdle the time after which an idle connection is closed rather than reused.
+     * @param meterRegistry the registry of the meters.
+     */
+    public PooledJavaMailSender(int poolSize, Duration maxIdle, MeterRegistry meterRegistry) {
+        this.idle = new LinkedBlockingDeque<>(Math.max(1, poolSize));
+        this.maxIdleNanos = maxIdle.toNanos();
+        this.sentTimer = sendTimer("success", meterRegistry);
+        this.failedTimer = sendTimer("failure", meterRegistry);
+        this.openedCounter = connectionsCounter("opened", meterRegistry);
+        this.reusedCounter = connectionsCounter("reused", meterRegistry);
+        this.discardedCounter = connectionsCounter("discarded", meterRegistry);
+        Gauge
+            .builder("mail.transport.idle", idle, BlockingDeque::size)
+            .description("Connections to the SMTP server kept open for the next sends")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, @Nullable Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        Transport transport = null;
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                if (transport == null) {
+                    try {
+                        transport = borrow();
+                    } catch (AuthenticationFailedException ex) {
+                        throw new MailAuthenticationException(ex);
+                    } catch (Exception ex) {
+                        // Effectively, all remaining messages failed...
+                        for (int j = i; j < mimeMessages.length; j++) {
+                            failedMessages.put(originalMessages != null ? originalMessages[j] : mimeMessages[j], ex);
+                        }
+                        throw new MailSendException("Mail server connection failed", ex, failedMessages);
+                    }
+                }
+                MimeMessage mimeMessage = mimeMessages[i];
+                long start = System.nanoTime();
+                try {
+                    send(transport, mimeMessage);
+                    sentTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                } catch (Exception ex) {
+                    failedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    failedMessages.put(originalMessages != null ? originalMessages[i] : mimeMessage, ex);
+                    if (!(ex instanceof SendFailedException)) {
+                        // The connection may be left in any state, the next message is sent on a new one
+                        discard(transport);
+                        transport = null;
+                    }
+                }
+            }
+        } finally {
+            if (transport != null) {
+                release(transport);
+            }
+        }
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    private void send(Transport transport, MimeMessage mimeMessage) throws MessagingException {
+        if (mimeMessage.getSentDate() == null) {
+            mimeMessage.setSentDate(new Date());
+        }
+        String messageId = mimeMessage.getMessageID();
+        mimeMessage.saveChanges();
+        if (messageId != null) {
+            // Preserve explicitly specified message id...
+            mimeMessage.setHeader(HEADER_MESSAGE_ID, messageId);
+        }
+        Address[] addresses = mimeMessage.getAllRecipients();
+        transport.sendMessage(mimeMessage, (addresses != null ? addresses : new Address[0]));
+    }
+
+    private Transport borrow() throws MessagingException {
+        IdleTransport candidate;
+        while ((candidate = idle.pollFirst()) != null) {
+            if (!isExpired(candidate) && candidate.transport().isConnected()) {
+                reusedCounter.increment();
+                return candidate.transport();
+            }
+            discard(candidate.transport());
+        }
+        Transport transport = connectTransport();
+        openedCounter.increment();
+        return transport;
+    }
+
+    private void release(Transport transport) {
+        // The least recently used connections are at the end, the expired ones are closed
+        IdleTransport oldest;
+        while ((oldest = idle.peekLast()) != null && isExpired(oldest) && idle.removeLastOccurrence(oldest)) {
+            discard(oldest.transport());
+        }
+        if (!idle.offerFirst(new IdleTransport(transport, System.nanoTime()))) {
+            close(transport);
+        }
+    }
+
+    private boolean isExpired(IdleTransport transport) {
+        return System.nanoTime() - transport.releasedAt() >= maxIdleNanos;
+    }
+
+    private void discard(Transport transport) {
+        discardedCounter.increment();
+        close(transport);
+    }
+
+    private void close(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Could not close the connection to the mail server: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        IdleTransport candidate;
+        while ((candidate = idle.pollFirst()) != null) {
+            close(candidate.transport());
+        }
+    }
+
+    private static Timer sendTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer
+            .builder(SEND_METER_NAME)
+            .description("Time to send a message to the SMTP server, on an open connection")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private static Counter connectionsCounter(String state, MeterRegistry meterRegistry) {
+        return Counter
+            .builder(CONNECTIONS_METER_NAME)
+            .description("Connections to the SMTP server opened, reused from the pool, and closed on errors or once expired")
+            .tag("state", state)
+            .register(meterRegistry);
+    }
+
+    private record IdleTransport(Transport transport, long releasedAt) {}
+}
@@ -0,0 +1,86 @@
+package com.givaudan.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.undertow.UndertowDeploymentInfoCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Run the requests of the API on virtual threads, when {@code application.request-execution.mode} is {@code virtual}.
+ * <p>
+ * The requests are no longer bounded by the worker threads of Undertow, but by a semaphore sized after the connection
+ * pool, so that they don't queue for a connection all at once.
+ * <p>
+ * The virtual threads blocking while pinned to their carrier thread, such as in synchronized sections, are traced with
+ * the JVM option {@code -Djdk.tracePinnedThreads=short}, which the Docker image sets.
+ */
+@Configuration
+@ConditionalOnProperty(name = "application.request-execution.mode", havingValue = "virtual")
+public class RequestExecutionConfiguration {
+
+    public static final String PERMITS_METER_NAME = "api.requests.permits.available";
+
+    public static final String REJECTED_METER_NAME = "api.requests.rejected";
+
+    /**
+     * Default size of the HikariCP pool.
+     */
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private final Logger log = LoggerFactory.getLogger(RequestExecutionConfiguration.class);
+
+    private final ExecutorService executor;
+
+    public RequestExecutionConfiguration() {
+        this.executor = VirtualThreads.newThreadPerTaskExecutor("application.request-execution.mode=virtual", "api-");
+    }
+
+    @Bean
+    public UndertowDeploymentInfoCustomizer apiDispatchCustomizer(
+        ApplicationProperties applicationProperties,
+        Environment env,
+        MeterRegistry meterRegistry
+    ) {
+        ApplicationProperties.RequestExecution properties = applicationProperties.getRequestExecution();
+        int maxConcurrency = properties.getMaxConcurrency() > 0
+            ? properties.getMaxConcurrency()
+            : env.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, DEFAULT_POOL_SIZE);
+        Semaphore permits = new Semaphore(maxConcurrency);
+        Gauge
+            .builder(PERMITS_METER_NAME, permits, Semaphore::availablePermits)
+            .description("Requests of the API which can start on a virtual thread without waiting.")
+            .register(meterRegistry);
+        Counter rejected = Counter
+            .builder(REJECTED_METER_NAME)
+            .description("Requests of the API rejected for waiting too long for a virtual thread.")
+            .register(meterRegistry);
+        log.info("Running the requests of the API on virtual threads, {} at once", maxConcurrency);
+        return deploymentInfo -> {
+            String contextPath = "/".equals(deploymentInfo.getContextPath()) ? "" : deploymentInfo.getContextPath();
+            deploymentInfo.addInitialHandlerChainWrapper(next ->
+                new ApiDispatchHandler(
+                    next,
+                    contextPath + "/api/",
+                    executor,
+                    permits,
+                    properties.getAcquireTimeoutMillis(),
+                    rejected::increment
+                )
+            );
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -4,15 +4,21 @@ import static com.givaudan.security.SecurityUtils.AUTHORITIES_KEY;
 import static com.givaudan.security.SecurityUtils.JWT_ALGORITHM;
 
 import com.givaudan.management.SecurityMetersService;
+import com.givaudan.security.ValidatedJwtCache;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import com.nimbusds.jose.proc.BadJWSException;
 import com.nimbusds.jose.util.Base64;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.text.ParseException;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.BadJwtException;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
@@ -25,24 +31,32 @@ public class SecurityJwtConfiguration {
     private String jwtKey;
 
     @Bean
-    public JwtDecoder jwtDecoder(SecurityMetersService metersService) {
+    public ValidatedJwtCache validatedJwtCache(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        return new ValidatedJwtCache(applicationProperties.getJwtCache().getMaximumSize(), meterRegistry);
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(SecurityMetersService metersService, ValidatedJwtCache validatedJwtCache) {
         NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(getSecretKey()).macAlgorithm(JWT_ALGORITHM).build();
-        return token -> {
+        return validatedJwtCache.decoder(token -> {
             try {
                 return jwtDecoder.decode(token);
-            } catch (Exception e) {
-                if (e.getMessage().contains("Invalid signature")) {
+            } catch (JwtValidationException e) {
+                // Rejected by the only validator, of the expiration
+                metersService.trackTokenExpired();
+                throw e;
+            } catch (BadJwtException e) {
+                if (e.getCause() instanceof BadJWSException) {
                     metersService.trackTokenInvalidSignature();
-                } else if (e.getMessage().contains("Jwt expired at")) {
-                    metersService.trackTokenExpired();
-                } else if (e.getMessage().contains("Invalid JWT serialization")) {
-                    metersService.trackTokenMalformed();
-                } else if (e.getMessage().contains("Invalid unsecured/JWS/JWE")) {
+                } else if (e.getCause() instanceof ParseException) {
                     metersService.trackTokenMalformed();
+                } else {
+                    // Signed with another algorithm, or not signed
+                    metersService.trackTokenUnsupported();
                 }
                 throw e;
             }
-        };
+        });
     }
 
     @Bean
@@ -51,13 +65,13 @@ public class SecurityJwtConfiguration {
     }
 
     @Bean
-    public JwtAuthenticationConverter jwtAuthenticationConverter() {
+    public JwtAuthenticationConverter jwtAuthenticationConverter(ValidatedJwtCache validatedJwtCache) {
         JwtGrantedAuthoritiesConverter grantedAuthoritiesConverter = new JwtGrantedAuthoritiesConverter();
         grantedAuthoritiesConverter.setAuthorityPrefix("");
         grantedAuthoritiesConverter.setAuthoritiesClaimName(AUTHORITIES_KEY);
 
         JwtAuthenticationConverter jwtAuthenticationConverter = new JwtAuthenticationConverter();
-        jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(grantedAuthoritiesConverter);
+        jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(validatedJwtCache.authoritiesConverter(grantedAuthoritiesConverter));
         return jwtAuthenticationConverter;
     }
 
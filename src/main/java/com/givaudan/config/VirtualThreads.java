@@ -0,0 +1,51 @@
+package com.givaudan.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual threads, looked up reflectively as the application is built for Java 17, and only available from Java 21.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {}
+
+    /**
+     * A factory of virtual threads named with the given prefix and a counter.
+     *
+     * @param feature the property enabling the virtual threads, reported when they aren't available.
+     * @param namePrefix the prefix of the names of the threads.
+     * @return the factory.
+     * @throws IllegalStateException if the virtual threads aren't available.
+     */
+    public static ThreadFactory factory(String feature, String namePrefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            throw new IllegalStateException(feature + " needs Java 21 or later, running on Java " + Runtime.version(), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create the virtual threads of " + feature, e);
+        }
+    }
+
+    /**
+     * An executor starting a new virtual thread for each task.
+     *
+     * @param feature the property enabling the virtual threads, reported when they aren't available.
+     * @param namePrefix the prefix of the names of the threads.
+     * @return the executor.
+     * @throws IllegalStateException if the virtual threads aren't available.
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String feature, String namePrefix) {
+        ThreadFactory factory = factory(feature, namePrefix);
+        try {
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create the virtual threads of " + feature, e);
+        }
+    }
+}
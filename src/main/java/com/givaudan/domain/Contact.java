@@ -2,12 +2,15 @@ package com.givaudan.domain;
 
 import jakarta.persistence.*;
 import java.io.Serializable;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * A Contact.
  */
 @Entity
 @Table(name = "contact")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class Contact implements Serializable {
 
@@ -34,6 +37,10 @@ public class Contact implements Serializable {
     @Column(name = "codepostal")
     private Integer codepostal;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -114,6 +121,19 @@ public class Contact implements Serializable {
         this.codepostal = codepostal;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Contact version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -143,6 +163,7 @@ public class Contact implements Serializable {
             ", age=" + getAge() +
             ", address='" + getAddress() + "'" +
             ", codepostal=" + getCodepostal() +
+            ", version=" + getVersion() +
             "}";
     }
 }
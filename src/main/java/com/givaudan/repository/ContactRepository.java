@@ -1,7 +1,12 @@
 package com.givaudan.repository;
 
 import com.givaudan.domain.Contact;
+import jakarta.persistence.QueryHint;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +14,53 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ContactRepository extends JpaRepository<Contact, Long>, JpaSpecificationExecutor<Contact> {}
+public interface ContactRepository
+    extends
+        ContactRepositoryWithSlices,
+        ContactRepositoryWithProjections,
+        ContactRepositoryWithStreams,
+        ContactRepositoryWithCopy,
+        ContactRepositoryWithSnapshots,
+        JpaRepository<Contact, Long>,
+        JpaSpecificationExecutor<Contact> {
+    /**
+     * Read the version of a contact, without loading it.
+     */
+    @Query("select contact.version from Contact contact where contact.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Stream the distinct values of nom, with the number of contacts having each of them.
+     * The stream must be consumed, and closed, within the surrounding transaction.
+     */
+    @Query("select contact.nom as name, count(contact) as total from Contact contact where contact.nom is not null group by contact.nom")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<NameCount> countByNom();
+
+    /**
+     * Stream the distinct values of prenom, with the number of contacts having each of them.
+     * The stream must be consumed, and closed, within the surrounding transaction.
+     */
+    @Query(
+        "select contact.prenom as name, count(contact) as total from Contact contact where contact.prenom is not null group by contact.prenom"
+    )
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<NameCount> countByPrenom();
+
+    /**
+     * Estimate the number of contacts from the planner statistics of the table, without reading it.
+     *
+     * @return the estimate, negative if the table has never been analyzed.
+     */
+    @Query(value = "select cast(reltuples as bigint) from pg_class where oid = to_regclass('contact')", nativeQuery = true)
+    Long estimateCount();
+
+    /**
+     * A name with its number of occurrences.
+     */
+    interface NameCount {
+        String getName();
+
+        long getTotal();
+    }
+}
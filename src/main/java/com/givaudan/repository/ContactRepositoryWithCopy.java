@@ -0,0 +1,32 @@
+package com.givaudan.repository;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Fragment of {@link ContactRepository} loading rows with the PostgreSQL {@code COPY} protocol, bypassing the
+ * persistence context entirely.
+ */
+public interface ContactRepositoryWithCopy {
+    /**
+     * Number of ids reserved by each value of the {@code sequence_generator} sequence, as it is used by the
+     * {@code pooled-lo} optimizer: a value {@code v} reserves the ids {@code v} to {@code v + ID_BLOCK_SIZE - 1}.
+     */
+    int ID_BLOCK_SIZE = 50;
+
+    /**
+     * Reserve blocks of ids from the {@code sequence_generator} sequence in a single round trip.
+     *
+     * @param count the number of blocks to reserve.
+     * @return the first id of each block.
+     */
+    List<Long> allocateIdBlocks(int count);
+
+    /**
+     * Copy rows into the {@code contact} table, in the connection of the current transaction.
+     *
+     * @param csv the rows, in PostgreSQL CSV format, with the columns {@code id, nom, prenom, age, address, codepostal}.
+     * @return the number of rows copied.
+     */
+    long copyIn(InputStream csv);
+}
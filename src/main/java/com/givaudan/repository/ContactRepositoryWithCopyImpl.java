@@ -0,0 +1,55 @@
+package com.givaudan.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+
+public class ContactRepositoryWithCopyImpl implements ContactRepositoryWithCopy {
+
+    private static final String ALLOCATE_ID_BLOCKS_SQL = "select nextval('sequence_generator') from generate_series(1, ?)";
+
+    private static final String COPY_SQL =
+        "COPY contact (id, nom, prenom, age, address, codepostal) FROM STDIN WITH (FORMAT csv, DELIMITER ',', NULL '')";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> allocateIdBlocks(int count) {
+        return entityManager
+            .unwrap(Session.class)
+            .doReturningWork(connection -> {
+                List<Long> blocks = new ArrayList<>(count);
+                try (PreparedStatement statement = connection.prepareStatement(ALLOCATE_ID_BLOCKS_SQL)) {
+                    statement.setInt(1, count);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            blocks.add(resultSet.getLong(1));
+                        }
+                    }
+                }
+                return blocks;
+            });
+    }
+
+    @Override
+    public long copyIn(InputStream csv) {
+        return entityManager
+            .unwrap(Session.class)
+            .doReturningWork(connection -> {
+                try {
+                    return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, csv);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+}
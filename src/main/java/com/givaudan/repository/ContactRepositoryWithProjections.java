@@ -0,0 +1,24 @@
+package com.givaudan.repository;
+
+import com.givaudan.domain.Contact;
+import jakarta.persistence.Tuple;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Fragment of {@link ContactRepository} reading some attributes of contacts only, as {@link Tuple}s instead of entities:
+ * only the selected columns are read, and no entity is hydrated, nor snapshotted and dirty-checked by the persistence
+ * context.
+ */
+public interface ContactRepositoryWithProjections {
+    /**
+     * Fetch the given attributes of the contacts of a page, without counting the matching contacts.
+     *
+     * @param specification the filters to apply, may be {@code null}.
+     * @param pageable the offset, size and sort of the page.
+     * @param attributes the names of the attributes of {@link Contact} to select.
+     * @return a tuple per matching contact, whose elements are aliased with the names of the attributes.
+     */
+    List<Tuple> findAllAsTuples(Specification<Contact> specification, Pageable pageable, List<String> attributes);
+}
@@ -0,0 +1,20 @@
+package com.givaudan.repository;
+
+import com.givaudan.domain.Contact;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Fragment of {@link ContactRepository} returning {@link Slice}s, i.e. pages which are never backed by a count query.
+ */
+public interface ContactRepositoryWithSlices {
+    /**
+     * Fetch one more row than requested by the {@link Pageable} to decide whether a next slice exists.
+     *
+     * @param specification the filters to apply, may be {@code null}.
+     * @param pageable the offset, size and sort of the slice.
+     * @return the matching slice.
+     */
+    Slice<Contact> findAllAsSlice(Specification<Contact> specification, Pageable pageable);
+}
@@ -0,0 +1,33 @@
+package com.givaudan.repository;
+
+/**
+ * Fragment of {@link ContactRepository} sharing the snapshot of a transaction with other transactions, so that queries
+ * run on several connections at once see the same data, as if they ran in a single transaction.
+ * <p>
+ * Both methods set the isolation of the current transaction to repeatable read, so they must be called before any
+ * other query of the transaction. The snapshot can only be imported while the exporting transaction is in progress.
+ */
+public interface ContactRepositoryWithSnapshots {
+    /**
+     * Export the snapshot of the current transaction.
+     *
+     * @return the id of the snapshot.
+     */
+    String exportSnapshot();
+
+    /**
+     * Make the current transaction see the data of an exported snapshot.
+     *
+     * @param snapshot the id of the snapshot, as returned by {@link #exportSnapshot()}.
+     * @throws IllegalArgumentException if the id is not a snapshot id.
+     */
+    void importSnapshot(String snapshot);
+
+    /**
+     * Cancel the statements of the current transaction running longer than a timeout, which PostgreSQL enforces on the
+     * server, as the interruption of the thread waiting for a statement doesn't stop it.
+     *
+     * @param timeoutMillis the number of milliseconds a statement may run, until the end of the current transaction.
+     */
+    void setStatementTimeout(long timeoutMillis);
+}
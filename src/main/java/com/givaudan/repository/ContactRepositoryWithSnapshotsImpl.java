@@ -0,0 +1,68 @@
+package com.givaudan.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.regex.Pattern;
+import org.hibernate.Session;
+
+public class ContactRepositoryWithSnapshotsImpl implements ContactRepositoryWithSnapshots {
+
+    private static final String REPEATABLE_READ_SQL = "SET TRANSACTION ISOLATION LEVEL REPEATABLE READ";
+
+    private static final String EXPORT_SNAPSHOT_SQL = "SELECT pg_export_snapshot()";
+
+    /**
+     * The snapshot ids of PostgreSQL, which are inlined as {@code SET TRANSACTION SNAPSHOT} takes no parameter.
+     */
+    private static final Pattern SNAPSHOT_ID = Pattern.compile("[0-9A-Fa-f]+(-[0-9A-Fa-f]+)*");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public String exportSnapshot() {
+        // Run on the JDBC connection: native queries through the entity manager would evict the second-level cache
+        return entityManager
+            .unwrap(Session.class)
+            .doReturningWork(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(REPEATABLE_READ_SQL);
+                    try (ResultSet resultSet = statement.executeQuery(EXPORT_SNAPSHOT_SQL)) {
+                        resultSet.next();
+                        return resultSet.getString(1);
+                    }
+                }
+            });
+    }
+
+    @Override
+    public void importSnapshot(String snapshot) {
+        if (snapshot == null || !SNAPSHOT_ID.matcher(snapshot).matches()) {
+            throw new IllegalArgumentException("Invalid snapshot id: " + snapshot);
+        }
+        entityManager
+            .unwrap(Session.class)
+            .doWork(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(REPEATABLE_READ_SQL);
+                    statement.execute("SET TRANSACTION SNAPSHOT '" + snapshot + "'");
+                }
+            });
+    }
+
+    @Override
+    public void setStatementTimeout(long timeoutMillis) {
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Invalid statement timeout: " + timeoutMillis);
+        }
+        entityManager
+            .unwrap(Session.class)
+            .doWork(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET LOCAL statement_timeout = " + timeoutMillis);
+                }
+            });
+    }
+}
@@ -0,0 +1,24 @@
+package com.givaudan.repository;
+
+import com.givaudan.domain.Contact;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Fragment of {@link ContactRepository} streaming large result sets without keeping them in the persistence context, nor
+ * in the second-level cache.
+ */
+public interface ContactRepositoryWithStreams {
+    /**
+     * Stream the matching entities through a server-side cursor. Each entity is detached as soon as it has been read, so
+     * the stream must be consumed, and closed, within the surrounding transaction. The entities are neither read from nor
+     * put in the second-level cache, which a full scan would otherwise flush of the entities actually reused.
+     *
+     * @param specification the filters to apply, may be {@code null}.
+     * @param sort the order of the stream.
+     * @param fetchSize the number of rows fetched by the JDBC driver per round trip.
+     * @return the stream of detached entities.
+     */
+    Stream<Contact> streamAll(Specification<Contact> specification, Sort sort, int fetchSize);
+}
@@ -0,0 +1,46 @@
+package com.givaudan.repository;
+
+import com.givaudan.domain.Contact;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.stream.Stream;
+import org.hibernate.CacheMode;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+public class ContactRepositoryWithStreamsImpl implements ContactRepositoryWithStreams {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Contact> streamAll(Specification<Contact> specification, Sort sort, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Contact> query = cb.createQuery(Contact.class);
+        Root<Contact> root = query.from(Contact.class);
+        query.select(root);
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        TypedQuery<Contact> typedQuery = entityManager
+            .createQuery(query)
+            .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+            .setHint(AvailableHints.HINT_READ_ONLY, true)
+            .setHint(AvailableHints.HINT_CACHE_MODE, CacheMode.IGNORE);
+        return typedQuery.getResultStream().peek(entityManager::detach);
+    }
+}
@@ -0,0 +1,38 @@
+package com.givaudan.repository;
+
+import com.givaudan.domain.OutgoingMail;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link OutgoingMail} entity, the outbox of the mails.
+ */
+@Repository
+public interface OutgoingMailRepository extends JpaRepository<OutgoingMail, Long> {
+    /**
+     * Claim the pending mails due at the given date, oldest first, until the end of the current transaction.
+     * <p>
+     * The mails already claimed by another transaction are skipped rather than waited for, so that several dispatchers,
+     * for instance one by instance of the application, deliver distinct batches at the same time.
+     *
+     * @param now the current date.
+     * @param limit the maximum number of mails claimed.
+     * @return the claimed mails.
+     */
+    @Query(
+        value = "select * from outgoing_mail where status = 'PENDING' and next_attempt_date <= :now" +
+        " order by next_attempt_date limit :limit for update skip locked",
+        nativeQuery = true
+    )
+    List<OutgoingMail> claimDue(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Query("select min(mail.createdDate) from OutgoingMail mail where mail.status = :status")
+    Optional<Instant> findOldestCreatedDateByStatus(@Param("status") OutgoingMail.Status status);
+
+    long countByStatus(OutgoingMail.Status status);
+}
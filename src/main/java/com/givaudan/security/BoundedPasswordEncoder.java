@@ -0,0 +1,108 @@
+package com.givaudan.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * A {@link PasswordEncoder} hashing the passwords on a dedicated pool of threads, rather than on the threads of the
+ * requests, so that a burst of logins cannot take the CPU from the other requests.
+ * <p>
+ * The passwords wait for their turn in a bounded queue; once it is full, the following ones are rejected at once with a
+ * {@link PasswordHashingRejectedException}. The queue depth, wait and hashing times of the pool are published as the
+ * {@code executor.*} meters of the {@code security.password.hashing} executor, and the rejections as
+ * {@code executor.rejected}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    public static final String EXECUTOR_NAME = "security.password.hashing";
+
+    public static final String REJECTED_METER_NAME = "executor.rejected";
+
+    private final PasswordEncoder delegate;
+
+    private final ExecutorService executor;
+
+    private final Counter rejectedCounter;
+
+    /**
+     * @param delegate the encoder hashing the passwords.
+     * @param concurrency the maximum number of passwords hashed at once.
+     * @param queueCapacity the maximum number of passwords waiting to be hashed.
+     * @param meterRegistry the registry of the meters.
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int concurrency, int queueCapacity, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+            concurrency,
+            concurrency,
+            60,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new CustomizableThreadFactory("password-hashing-"),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, EXECUTOR_NAME);
+        this.rejectedCounter =
+            Counter
+                .builder(REJECTED_METER_NAME)
+                .description("Tasks rejected as the queue was full")
+                .tag("name", EXECUTOR_NAME)
+                .tag("policy", "fail")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T hash(Callable<T> task) {
+        Future<T> result;
+        try {
+            result = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new PasswordHashingRejectedException("Too many passwords waiting to be hashed", e);
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a password to be hashed", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
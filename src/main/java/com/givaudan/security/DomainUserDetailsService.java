@@ -1,8 +1,14 @@
 package com.givaudan.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.givaudan.config.ApplicationProperties;
 import com.givaudan.domain.Authority;
 import com.givaudan.domain.User;
 import com.givaudan.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
 import java.util.*;
 import org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator;
 import org.slf4j.Logger;
@@ -13,19 +19,44 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Authenticate a user from the database.
+ * <p>
+ * The activated users are kept in a cache, by login or email as given, for {@code application.user-details-cache.ttl-seconds}
+ * at most, or until they are changed through {@link #evict(User)}. The hits and misses of the cache are published as the
+ * {@code cache.*} meters of the {@code user-details} cache.
  */
 @Component("userDetailsService")
 public class DomainUserDetailsService implements UserDetailsService {
 
+    public static final String CACHE_NAME = "user-details";
+
     private final Logger log = LoggerFactory.getLogger(DomainUserDetailsService.class);
 
     private final UserRepository userRepository;
 
-    public DomainUserDetailsService(UserRepository userRepository) {
+    private final EmailValidator emailValidator = new EmailValidator();
+
+    private final Cache<String, UserDetails> users;
+
+    public DomainUserDetailsService(
+        UserRepository userRepository,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
         this.userRepository = userRepository;
+        ApplicationProperties.UserDetailsCache properties = applicationProperties.getUserDetailsCache();
+        this.users =
+            Caffeine
+                .newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(properties.getTtlSeconds()))
+                .maximumSize(properties.getMaximumSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, CACHE_NAME);
     }
 
     @Override
@@ -33,18 +64,49 @@ public class DomainUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(final String login) {
         log.debug("Authenticating {}", login);
 
-        if (new EmailValidator().isValid(login, null)) {
+        UserDetails user = users.get(normalize(login), this::loadUser);
+        // A copy, as the password of the authenticated user is erased once authenticated
+        return org.springframework.security.core.userdetails.User.withUserDetails(user).build();
+    }
+
+    /**
+     * Evict a user from the cache, by its login and email, before and once again after it is changed in the current
+     * transaction.
+     *
+     * @param user the user, before it is changed.
+     */
+    public void evict(User user) {
+        List<String> keys = new ArrayList<>();
+        keys.add(normalize(user.getLogin()));
+        if (user.getEmail() != null) {
+            keys.add(normalize(user.getEmail()));
+        }
+        users.invalidateAll(keys);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Loaded again in between from the user before the change, by another transaction
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        users.invalidateAll(keys);
+                    }
+                }
+            );
+        }
+    }
+
+    private UserDetails loadUser(String login) {
+        if (emailValidator.isValid(login, null)) {
             return userRepository
                 .findOneWithAuthoritiesByEmailIgnoreCase(login)
                 .map(user -> createSpringSecurityUser(login, user))
                 .orElseThrow(() -> new UsernameNotFoundException("User with email " + login + " was not found in the database"));
         }
 
-        String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
         return userRepository
-            .findOneWithAuthoritiesByLogin(lowercaseLogin)
-            .map(user -> createSpringSecurityUser(lowercaseLogin, user))
-            .orElseThrow(() -> new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database"));
+            .findOneWithAuthoritiesByLogin(login)
+            .map(user -> createSpringSecurityUser(login, user))
+            .orElseThrow(() -> new UsernameNotFoundException("User " + login + " was not found in the database"));
     }
 
     private org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, User user) {
@@ -59,4 +121,8 @@ public class DomainUserDetailsService implements UserDetailsService {
             .toList();
         return new org.springframework.security.core.userdetails.User(user.getLogin(), user.getPassword(), grantedAuthorities);
     }
+
+    private static String normalize(String login) {
+        return login.toLowerCase(Locale.ENGLISH);
+    }
 }
@@ -0,0 +1,94 @@
+package com.givaudan.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.givaudan.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the failed logins by login and client address, so that a client failing again and again on a login, as in a
+ * brute-force attack, is rejected before its password is hashed.
+ * <p>
+ * A client is rejected for a login once it failed {@code application.password-hashing.max-failed-logins} times in a row,
+ * until {@code failed-logins-ttl-seconds} after its last failure; a successful login clears its failures. The other
+ * clients are not rejected, so that anyone knowing a login can't lock its user out, at the cost of letting an attacker
+ * spread over many addresses try as many passwords per address. The rejected attempts are counted by the
+ * {@code security.authentication.login-attempts.rejected} meter.
+ */
+@Component
+public class LoginAttemptCache {
+
+    public static final String REJECTED_METER_NAME = "security.authentication.login-attempts.rejected";
+
+    private final Logger log = LoggerFactory.getLogger(LoginAttemptCache.class);
+
+    private final Cache<Attempt, Integer> failures;
+
+    private final int maxFailedLogins;
+
+    private final Counter rejectedCounter;
+
+    public LoginAttemptCache(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.PasswordHashing properties = applicationProperties.getPasswordHashing();
+        this.failures =
+            Caffeine
+                .newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(properties.getFailedLoginsTtlSeconds()))
+                .maximumSize(properties.getMaxTrackedLogins())
+                .build();
+        this.maxFailedLogins = properties.getMaxFailedLogins();
+        this.rejectedCounter =
+            Counter
+                .builder(REJECTED_METER_NAME)
+                .description("Login attempts rejected before hashing their password, after too many failures")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Check that a client may try to authenticate with a login.
+     *
+     * @param login the login, or email, of the user.
+     * @param client the address of the client.
+     * @throws LoginAttemptsExceededException if the client failed too many times in a row with this login.
+     */
+    public void checkAllowed(String login, String client) {
+        Integer failed = failures.getIfPresent(attempt(login, client));
+        if (failed != null && failed >= maxFailedLogins) {
+            rejectedCounter.increment();
+            log.debug("Rejecting {} from {} after {} failed logins", login, client, failed);
+            throw new LoginAttemptsExceededException("Too many failed logins for " + login);
+        }
+    }
+
+    /**
+     * Record a failed login of a client, the failures being kept from this one on.
+     *
+     * @param login the login, or email, of the user.
+     * @param client the address of the client.
+     */
+    public void loginFailed(String login, String client) {
+        failures.asMap().merge(attempt(login, client), 1, Integer::sum);
+    }
+
+    /**
+     * Record a successful login of a client, clearing its failures.
+     *
+     * @param login the login, or email, of the user.
+     * @param client the address of the client.
+     */
+    public void loginSucceeded(String login, String client) {
+        failures.invalidate(attempt(login, client));
+    }
+
+    private static Attempt attempt(String login, String client) {
+        return new Attempt(login.toLowerCase(Locale.ENGLISH), client);
+    }
+
+    private record Attempt(String login, String client) {}
+}
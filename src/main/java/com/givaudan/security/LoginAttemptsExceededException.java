@@ -0,0 +1,15 @@
+package com.givaudan.security;
+
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * This exception is thrown in case of a login trying to authenticate again after too many failures.
+ */
+public class LoginAttemptsExceededException extends AuthenticationException {
+
+    private static final long serialVersionUID = 1L;
+
+    public LoginAttemptsExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.givaudan.security;
+
+/**
+ * This exception is thrown when too many passwords are already waiting to be hashed.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingRejectedException(String message, Throwable t) {
+        super(message, t);
+    }
+}
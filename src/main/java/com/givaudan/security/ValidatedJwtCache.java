@@ -0,0 +1,136 @@
+package com.givaudan.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+/**
+ * A cache of the validated JWTs, so that a token presented again is neither verified nor parsed again, and its
+ * authorities not converted again.
+ * <p>
+ * The tokens are keyed by their SHA-256 hash, and kept until their expiration at most; the tokens without one are not
+ * cached. The time to decode the tokens is published as the {@code security.authentication.jwt.decode} timer, tagged
+ * with whether the token was cached, and the hits, misses and evictions of the cache as the {@code cache.*} meters of
+ * the {@code jwt} cache.
+ */
+public class ValidatedJwtCache {
+
+    public static final String DECODE_METER_NAME = "security.authentication.jwt.decode";
+
+    public static final String CACHE_NAME = "jwt";
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private final Cache<ByteBuffer, Jwt> jwts;
+
+    private final Cache<Jwt, Collection<GrantedAuthority>> authorities;
+
+    private final Timer hitTimer;
+
+    private final Timer missTimer;
+
+    /**
+     * @param maximumSize the maximum number of tokens kept.
+     * @param meterRegistry the registry of the meters.
+     */
+    public ValidatedJwtCache(long maximumSize, MeterRegistry meterRegistry) {
+        this.jwts = Caffeine.newBuilder().maximumSize(maximumSize).expireAfter(new UntilExpiration()).recordStats().build();
+        // Compared by identity: only the tokens returned from the cache are found again
+        this.authorities = Caffeine.newBuilder().maximumSize(maximumSize).weakKeys().build();
+        this.hitTimer = decodeTimer("hit", meterRegistry);
+        this.missTimer = decodeTimer("miss", meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, jwts, CACHE_NAME);
+    }
+
+    /**
+     * Wrap a decoder, decoding and validating the tokens which are not cached yet.
+     *
+     * @param decoder the decoder of the tokens.
+     * @return the caching decoder.
+     */
+    public JwtDecoder decoder(JwtDecoder decoder) {
+        return token -> decode(token, decoder);
+    }
+
+    /**
+     * Wrap a converter of the authorities of the tokens, converting the tokens which are not cached yet.
+     *
+     * @param converter the converter of the authorities.
+     * @return the caching converter.
+     */
+    public Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter(Converter<Jwt, Collection<GrantedAuthority>> converter) {
+        return jwt -> authorities.get(jwt, converter::convert);
+    }
+
+    private Jwt decode(String token, JwtDecoder decoder) {
+        long start = System.nanoTime();
+        ByteBuffer key = hash(token);
+        Jwt jwt = jwts.getIfPresent(key);
+        if (jwt != null) {
+            hitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return jwt;
+        }
+        try {
+            jwt = decoder.decode(token);
+        } finally {
+            missTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (jwt.getExpiresAt() != null && jwt.getExpiresAt().isAfter(Instant.now())) {
+            jwts.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    private static ByteBuffer hash(String token) {
+        try {
+            // Compared by content, unlike the array
+            return ByteBuffer.wrap(MessageDigest.getInstance(HASH_ALGORITHM).digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Timer decodeTimer(String cache, MeterRegistry meterRegistry) {
+        return Timer
+            .builder(DECODE_METER_NAME)
+            .description("Time to decode and validate the JWTs presented by the clients, or to find them in the cache")
+            .tag("cache", cache)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Expires the tokens at their expiration.
+     */
+    private static class UntilExpiration implements Expiry<ByteBuffer, Jwt> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Jwt jwt, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), jwt.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.givaudan.service;
+
+/**
+ * A number of contacts, which may be estimated.
+ *
+ * @param value the number of contacts.
+ * @param exact whether the number was counted by the query, or estimated from statistics or a cached count.
+ */
+public record ContactCount(long value, boolean exact) {}
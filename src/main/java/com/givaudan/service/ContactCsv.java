@@ -0,0 +1,111 @@
+package com.givaudan.service;
+
+import com.givaudan.service.dto.ContactDTO;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV representation of {@link ContactDTO}, using the same layout as the Liquibase {@code fake-data/contact.csv} file:
+ * a header line, {@code ;} separated fields, empty fields for {@code null} values and double quotes around fields
+ * containing a separator, a quote or a line break.
+ */
+public final class ContactCsv {
+
+    public static final char SEPARATOR = ';';
+
+    public static final String HEADER = "id;nom;prenom;age;address;codepostal";
+
+    private ContactCsv() {}
+
+    /**
+     * Append a contact as a CSV line, including the trailing line break.
+     *
+     * @param out the destination.
+     * @param contact the contact to write.
+     * @throws IOException if the destination can't be written to.
+     */
+    public static void appendRow(Appendable out, ContactDTO contact) throws IOException {
+        appendField(out, contact.getId());
+        out.append(SEPARATOR);
+        appendField(out, contact.getNom());
+        out.append(SEPARATOR);
+        appendField(out, contact.getPrenom());
+        out.append(SEPARATOR);
+        appendField(out, contact.getAge());
+        out.append(SEPARATOR);
+        appendField(out, contact.getAddress());
+        out.append(SEPARATOR);
+        appendField(out, contact.getCodepostal());
+        out.append('\n');
+    }
+
+    /**
+     * Read the next CSV record. Quoted fields may span several lines; empty unquoted fields are read as {@code null}.
+     *
+     * @param in the source, which should be buffered.
+     * @return the fields of the record, or {@code null} at the end of the input.
+     * @throws IOException if the source can't be read, or ends inside a quoted field.
+     */
+    public static List<String> readRecord(Reader in) throws IOException {
+        int c = in.read();
+        if (c < 0) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (c == '"' && field.isEmpty() && !quoted) {
+                quoted = true;
+                c = readQuoted(in, field);
+                continue;
+            }
+            if (c < 0 || c == '\n' || c == SEPARATOR) {
+                fields.add(field.isEmpty() && !quoted ? null : field.toString());
+                if (c != SEPARATOR) {
+                    return fields;
+                }
+                field.setLength(0);
+                quoted = false;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+    }
+
+    /**
+     * Read a quoted field, up to and excluding its closing quote.
+     *
+     * @return the character following the closing quote.
+     */
+    private static int readQuoted(Reader in, StringBuilder field) throws IOException {
+        while (true) {
+            int c = in.read();
+            if (c < 0) {
+                throw new IOException("Unterminated quoted field");
+            }
+            if (c == '"') {
+                int next = in.read();
+                if (next != '"') {
+                    return next;
+                }
+            }
+            field.append((char) c);
+        }
+    }
+
+    private static void appendField(Appendable out, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(SEPARATOR) < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            out.append(text);
+            return;
+        }
+        out.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+}
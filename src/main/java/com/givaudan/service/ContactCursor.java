@@ -0,0 +1,255 @@
+package com.givaudan.service;
+
+import com.givaudan.domain.Contact;
+import com.givaudan.service.dto.ContactDTO;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Opaque position in a keyset (seek) traversal of {@link Contact} entities.
+ * <p>
+ * A cursor holds the values of every sort key of the last row returned, the {@code id} always being the last key so
+ * the order is total. The next slice is then selected with a seek predicate instead of an {@code OFFSET}, which keeps
+ * the cost of a page independent of its depth. Null values are ordered as PostgreSQL does by default: last in
+ * ascending order, first in descending order.
+ * <p>
+ * The seek predicate is bounded on the first sort key, so that the index of this key is scanned from the cursor on. As
+ * the nulls of this key are not within such a bound, the rows after them, or the nulls after the other rows, are
+ * selected by a second predicate, {@link #toFollowingSpecification()}, once the first one runs out of rows.
+ */
+public final class ContactCursor {
+
+    private static final String ID = "id";
+
+    private static final Map<String, SortKey> SORT_KEYS = new LinkedHashMap<>();
+
+    static {
+        SORT_KEYS.put(ID, new SortKey(Long::valueOf, ContactDTO::getId));
+        SORT_KEYS.put("nom", new SortKey(value -> value, ContactDTO::getNom));
+        SORT_KEYS.put("prenom", new SortKey(value -> value, ContactDTO::getPrenom));
+        SORT_KEYS.put("age", new SortKey(Integer::valueOf, ContactDTO::getAge));
+        SORT_KEYS.put("address", new SortKey(value -> value, ContactDTO::getAddress));
+        SORT_KEYS.put("codepostal", new SortKey(Integer::valueOf, ContactDTO::getCodepostal));
+    }
+
+    private final Sort sort;
+
+    private final List<Object> values;
+
+    private ContactCursor(Sort sort, List<Object> values) {
+        this.sort = sort;
+        this.values = values;
+    }
+
+    /**
+     * Complete a requested sort into a total order usable for keyset pagination, by appending {@code id} unless it is
+     * already part of the sort. The {@code id} follows the direction of the last order, so that the {@code (key, id)}
+     * index of a single sort key can be scanned backwards for a descending sort.
+     *
+     * @param sort the sort requested by the client.
+     * @return the keyset sort.
+     * @throws InvalidCursorException if a sort property is not a sortable column of {@link Contact}.
+     */
+    public static Sort keysetSort(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!SORT_KEYS.containsKey(order.getProperty())) {
+                throw new InvalidCursorException("Unsupported keyset sort property: " + order.getProperty());
+            }
+        }
+        if (sort.getOrderFor(ID) != null) {
+            return sort;
+        }
+        Sort.Direction direction = sort.isSorted() ? sort.toList().get(sort.toList().size() - 1).getDirection() : Sort.Direction.ASC;
+        return sort.and(Sort.by(direction, ID));
+    }
+
+    /**
+     * Build the cursor pointing right after the given row.
+     *
+     * @param keysetSort the keyset sort, as returned by {@link #keysetSort(Sort)}.
+     * @param last the last row of the current slice.
+     * @return the cursor.
+     */
+    public static ContactCursor after(Sort keysetSort, ContactDTO last) {
+        List<Object> values = new ArrayList<>();
+        for (Sort.Order order : keysetSort) {
+            values.add(SORT_KEYS.get(order.getProperty()).extractor().apply(last));
+        }
+        return new ContactCursor(keysetSort, Collections.unmodifiableList(values));
+    }
+
+    /**
+     * Decode a cursor previously returned by {@link #encode()}.
+     *
+     * @param token the opaque token.
+     * @param keysetSort the keyset sort of the current request, which must be the one the token was built with.
+     * @return the cursor.
+     * @throws InvalidCursorException if the token is malformed or was built for another sort.
+     */
+    public static ContactCursor decode(String token, Sort keysetSort) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (!signature(keysetSort).equals(in.readUTF())) {
+                throw new InvalidCursorException("Cursor does not match the requested sort");
+            }
+            List<Object> values = new ArrayList<>();
+            for (Sort.Order order : keysetSort) {
+                values.add(in.readBoolean() ? SORT_KEYS.get(order.getProperty()).parser().apply(in.readUTF()) : null);
+            }
+            if (in.available() > 0) {
+                throw new InvalidCursorException("Cursor has trailing data");
+            }
+            return new ContactCursor(keysetSort, Collections.unmodifiableList(values));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor", e);
+        }
+    }
+
+    /**
+     * @return the URL-safe representation of this cursor.
+     */
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(signature(sort));
+            for (Object value : values) {
+                out.writeBoolean(value != null);
+                if (value != null) {
+                    out.writeUTF(value.toString());
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Seek predicate selecting the rows strictly after this cursor which share the nullness of its first sort key: for
+     * sort keys {@code k1..kn}, the disjunction over {@code i} of {@code k1 = v1 and ... and k(i-1) = v(i-1) and ki after
+     * vi}, within the leading bound {@code k1 >= v1}, {@code k1 <= v1} or {@code k1 is null}, which the index of
+     * {@code k1} serves.
+     *
+     * @return the matching {@link Specification}.
+     */
+    @SuppressWarnings("unchecked")
+    public Specification<Contact> toSpecification() {
+        return (root, query, cb) -> {
+            List<Sort.Order> orders = sort.toList();
+            List<Predicate> disjunction = new ArrayList<>();
+            List<Predicate> equalities = new ArrayList<>();
+            for (int i = 0; i < orders.size(); i++) {
+                Sort.Order order = orders.get(i);
+                Expression<Comparable<Object>> key = root.get(order.getProperty());
+                Object value = values.get(i);
+                // The rows after the nulls of the first key, or the nulls after its values, are left to the following predicate
+                Predicate after = i == 0 ? strictlyAfter(cb, key, order, value) : after(cb, key, order, value);
+                if (after != null) {
+                    List<Predicate> conjunction = new ArrayList<>(equalities);
+                    conjunction.add(after);
+                    disjunction.add(cb.and(conjunction.toArray(new Predicate[0])));
+                }
+                equalities.add(value == null ? cb.isNull(key) : cb.equal(key, value));
+            }
+            Expression<Comparable<Object>> first = root.get(orders.get(0).getProperty());
+            Comparable<Object> firstValue = (Comparable<Object>) values.get(0);
+            Predicate bound = firstValue == null
+                ? cb.isNull(first)
+                : orders.get(0).isAscending() ? cb.greaterThanOrEqualTo(first, firstValue) : cb.lessThanOrEqualTo(first, firstValue);
+            return cb.and(bound, cb.or(disjunction.toArray(new Predicate[0])));
+        };
+    }
+
+    /**
+     * Seek predicate selecting the rows after those of {@link #toSpecification()}, which differ from this cursor by the
+     * nullness of their first sort key: its nulls after its values in ascending order, or its values after its nulls in
+     * descending order.
+     *
+     * @return the matching {@link Specification}, empty if the rows of {@link #toSpecification()} are the last ones.
+     */
+    public Optional<Specification<Contact>> toFollowingSpecification() {
+        Sort.Order first = sort.toList().get(0);
+        if (ID.equals(first.getProperty()) || first.isAscending() != (values.get(0) != null)) {
+            return Optional.empty();
+        }
+        return Optional.of((root, query, cb) ->
+            first.isAscending() ? cb.isNull(root.get(first.getProperty())) : cb.isNotNull(root.get(first.getProperty()))
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate strictlyAfter(CriteriaBuilder cb, Expression<Comparable<Object>> key, Sort.Order order, Object value) {
+        if (value == null) {
+            return null;
+        }
+        return order.isAscending() ? cb.greaterThan(key, (Comparable<Object>) value) : cb.lessThan(key, (Comparable<Object>) value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate after(CriteriaBuilder cb, Expression<Comparable<Object>> key, Sort.Order order, Object value) {
+        boolean nullable = !ID.equals(order.getProperty());
+        if (order.isAscending()) {
+            if (value == null) {
+                return null;
+            }
+            Predicate greater = cb.greaterThan(key, (Comparable<Object>) value);
+            return nullable ? cb.or(greater, cb.isNull(key)) : greater;
+        }
+        if (value == null) {
+            return cb.isNotNull(key);
+        }
+        return cb.lessThan(key, (Comparable<Object>) value);
+    }
+
+    private static String signature(Sort sort) {
+        return sort
+            .stream()
+            .map(order -> order.getProperty() + "," + order.getDirection().name().toLowerCase())
+            .collect(Collectors.joining(";"));
+    }
+
+    List<Object> getValues() {
+        return values;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ContactCursor that = (ContactCursor) o;
+        return Objects.equals(sort, that.sort) && Objects.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sort, values);
+    }
+
+    @Override
+    public String toString() {
+        return "ContactCursor{sort=" + sort + ", values=" + values + "}";
+    }
+
+    private record SortKey(Function<String, Object> parser, Function<ContactDTO, Object> extractor) {}
+}
@@ -0,0 +1,14 @@
+package com.givaudan.service;
+
+public class ContactImportException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ContactImportException(String message) {
+        super(message);
+    }
+
+    public ContactImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,13 @@
+package com.givaudan.service;
+
+/**
+ * This exception is thrown when too many imports of contacts are already running.
+ */
+public class ContactImportRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ContactImportRejectedException(String message, Throwable t) {
+        super(message, t);
+    }
+}
@@ -0,0 +1,367 @@
+package com.givaudan.service;
+
+import com.givaudan.config.ApplicationProperties;
+import com.givaudan.domain.Contact;
+import com.givaudan.repository.ContactRepository;
+import com.givaudan.repository.ContactRepositoryWithCopy;
+import com.givaudan.service.dto.ContactImportResultDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service importing {@link Contact} entities from CSV files with the PostgreSQL {@code COPY} protocol.
+ * <p>
+ * The import is a two-stage pipeline: a parser thread reads and validates the upload, and hands segments of encoded
+ * rows over a bounded queue to the calling thread, which assigns their ids from the sequence and copies them in the
+ * transaction's connection. At most {@link #PIPELINE_DEPTH} segments are held in memory, whatever the size of the file,
+ * with the counts of at most {@code application.csv-import.max-counted-names} names: the suggestions of an import naming
+ * more contacts are rebuilt once it is committed, rather than updated with its counts.
+ * <p>
+ * At most {@code application.csv-import.max-concurrency} imports run at once, each with its own parser thread.
+ * <p>
+ * The CSV file uses the layout of {@link ContactCsv}: a header naming the columns, then one contact per record. The
+ * {@code id} column, if present, is ignored as ids are always assigned by the import.
+ */
+@Service
+@Transactional
+public class ContactImportService {
+
+    public static final String IMPORTED_ROWS_METER_NAME = "contact.import.rows";
+
+    public static final String PARSER_EXECUTOR_NAME = "contact.import.parser";
+
+    private static final int SEGMENT_SIZE = 10_000;
+
+    private static final int PIPELINE_DEPTH = 2;
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final int MAX_STRING_LENGTH = 255;
+
+    private static final List<String> COLUMNS = List.of("nom", "prenom", "age", "address", "codepostal");
+
+    private static final int NOM = COLUMNS.indexOf("nom");
+
+    private static final int PRENOM = COLUMNS.indexOf("prenom");
+
+    private static final int AGE = COLUMNS.indexOf("age");
+
+    private static final int CODEPOSTAL = COLUMNS.indexOf("codepostal");
+
+    private final Logger log = LoggerFactory.getLogger(ContactImportService.class);
+
+    private final ContactRepository contactRepository;
+
+    private final ContactSuggestionService contactSuggestionService;
+
+    private final ContactQueryCache contactQueryCache;
+
+    private final Counter importedCounter;
+
+    private final Counter rejectedCounter;
+
+    /**
+     * Runs the parsers of the imports, rejecting the imports when all its threads are busy.
+     */
+    private final ExecutorService parserExecutor;
+
+    private final int maxCountedNames;
+
+    public ContactImportService(
+        ContactRepository contactRepository,
+        ContactSuggestionService contactSuggestionService,
+        ContactQueryCache contactQueryCache,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.contactRepository = contactRepository;
+        this.contactSuggestionService = contactSuggestionService;
+        this.contactQueryCache = contactQueryCache;
+        this.maxCountedNames = applicationProperties.getCsvImport().getMaxCountedNames();
+        int maxConcurrency = applicationProperties.getCsvImport().getMaxConcurrency();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            maxConcurrency,
+            maxConcurrency,
+            60,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            new CustomizableThreadFactory("contact-import-")
+        );
+        executor.allowCoreThreadTimeOut(true);
+        this.parserExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor, PARSER_EXECUTOR_NAME);
+        this.importedCounter = Counter
+            .builder(IMPORTED_ROWS_METER_NAME)
+            .baseUnit("rows")
+            .description("Rows processed by the contact CSV import, the rate is the import throughput.")
+            .tag("outcome", "imported")
+            .register(meterRegistry);
+        this.rejectedCounter = Counter
+            .builder(IMPORTED_ROWS_METER_NAME)
+            .baseUnit("rows")
+            .description("Rows processed by the contact CSV import, the rate is the import throughput.")
+            .tag("outcome", "rejected")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        parserExecutor.shutdownNow();
+    }
+
+    /**
+     * Import contacts from a CSV file, in a single transaction. Invalid rows are skipped and reported.
+     *
+     * @param csv the UTF-8 encoded CSV file.
+     * @return the outcome of the import.
+     * @throws ContactImportException if the file can't be read or its header is invalid.
+     * @throws ContactImportRejectedException if too many imports are already running.
+     */
+    public ContactImportResultDTO importCsv(InputStream csv) {
+        log.debug("Request to import Contacts");
+        long start = System.nanoTime();
+        BlockingQueue<Segment> segments = new ArrayBlockingQueue<>(PIPELINE_DEPTH);
+        Future<?> parser;
+        try {
+            parser = parserExecutor.submit(() -> parse(csv, segments));
+        } catch (RejectedExecutionException e) {
+            throw new ContactImportRejectedException("Too many imports of contacts running", e);
+        }
+        try {
+            long imported = 0;
+            Segment segment = segments.take();
+            while (segment.error() == null && !segment.rows().isEmpty()) {
+                imported += copy(segment.rows());
+                log.info("Imported {} Contacts, {} rows/s", imported, (long) rowsPerSecond(imported, System.nanoTime() - start));
+                segment = segments.take();
+            }
+            if (segment.error() != null) {
+                throw segment.error();
+            }
+            parser.get();
+            if (segment.names() != null) {
+                contactSuggestionService.addAll(segment.names().noms(), segment.names().prenoms());
+            } else {
+                rebuildSuggestionsAfterCommit();
+            }
+            contactQueryCache.invalidate();
+
+            ContactImportResultDTO result = new ContactImportResultDTO();
+            result.setImported(imported);
+            result.setRejected(segment.rejected());
+            result.setErrors(segment.errors());
+            long duration = System.nanoTime() - start;
+            result.setDurationMillis(duration / 1_000_000);
+            result.setRowsPerSecond(rowsPerSecond(imported, duration));
+            log.debug("Imported Contacts : {}", result);
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ContactImportException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new ContactImportException("Import failed", e.getCause());
+        } finally {
+            parser.cancel(true);
+        }
+    }
+
+    private void rebuildSuggestionsAfterCommit() {
+        log.debug("Too many names imported to count, rebuilding the Contact suggestions once committed");
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    contactSuggestionService.rebuild();
+                }
+            }
+        );
+    }
+
+    private long copy(List<String> rows) {
+        int blockCount = (rows.size() + ContactRepositoryWithCopy.ID_BLOCK_SIZE - 1) / ContactRepositoryWithCopy.ID_BLOCK_SIZE;
+        List<Long> blocks = contactRepository.allocateIdBlocks(blockCount);
+        StringBuilder buffer = new StringBuilder(rows.size() * 64);
+        for (int i = 0; i < rows.size(); i++) {
+            long id = blocks.get(i / ContactRepositoryWithCopy.ID_BLOCK_SIZE) + i % ContactRepositoryWithCopy.ID_BLOCK_SIZE;
+            buffer.append(id).append(rows.get(i));
+        }
+        long copied = contactRepository.copyIn(new ByteArrayInputStream(buffer.toString().getBytes(StandardCharsets.UTF_8)));
+        importedCounter.increment(copied);
+        return copied;
+    }
+
+    /**
+     * Parser stage: read, validate and encode the records, then publish them by segments. The last segment published is
+     * empty, and carries either the rejected rows or the error which stopped the parsing.
+     * The last segment also carries the number of rows by value of nom and prenom, or no counts if there are more than
+     * {@link #maxCountedNames} values of either.
+     */
+    private void parse(InputStream csv, BlockingQueue<Segment> segments) {
+        long rejected = 0;
+        List<String> errors = new ArrayList<>();
+        NameCounts names = new NameCounts(new HashMap<>(), new HashMap<>());
+        try {
+            Reader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+            int[] columns = parseHeader(ContactCsv.readRecord(reader));
+            List<String> rows = new ArrayList<>(SEGMENT_SIZE);
+            long recordNumber = 0;
+            for (List<String> fields = ContactCsv.readRecord(reader); fields != null; fields = ContactCsv.readRecord(reader)) {
+                recordNumber++;
+                if (fields.size() == 1 && fields.get(0) == null) {
+                    continue;
+                }
+                String error = validate(fields, columns);
+                if (error != null) {
+                    rejected++;
+                    rejectedCounter.increment();
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add("record " + recordNumber + ": " + error);
+                    }
+                    continue;
+                }
+                rows.add(encode(fields, columns));
+                if (names != null) {
+                    count(names.noms(), field(fields, columns, NOM));
+                    count(names.prenoms(), field(fields, columns, PRENOM));
+                    if (names.noms().size() > maxCountedNames || names.prenoms().size() > maxCountedNames) {
+                        names = null;
+                    }
+                }
+                if (rows.size() == SEGMENT_SIZE) {
+                    segments.put(new Segment(rows, 0, null, null, null));
+                    rows = new ArrayList<>(SEGMENT_SIZE);
+                }
+            }
+            if (!rows.isEmpty()) {
+                segments.put(new Segment(rows, 0, null, null, null));
+            }
+            segments.put(new Segment(List.of(), rejected, errors, names, null));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            RuntimeException error = e instanceof ContactImportException importException
+                ? importException
+                : new ContactImportException("Invalid CSV file: " + e.getMessage(), e);
+            try {
+                segments.put(new Segment(List.of(), rejected, errors, null, error));
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * @return for each column of {@link #COLUMNS}, its index in the file, or {@code -1} if it is absent.
+     */
+    private static int[] parseHeader(List<String> header) {
+        if (header == null) {
+            throw new ContactImportException("Empty CSV file");
+        }
+        int[] columns = new int[COLUMNS.size()];
+        Arrays.fill(columns, -1);
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i) == null ? "" : header.get(i).trim();
+            if ("id".equals(name)) {
+                continue;
+            }
+            int column = COLUMNS.indexOf(name);
+            if (column < 0) {
+                throw new ContactImportException("Unknown column in CSV header: " + name);
+            }
+            columns[column] = i;
+        }
+        return columns;
+    }
+
+    private static String validate(List<String> fields, int[] columns) {
+        for (int column = 0; column < columns.length; column++) {
+            if (columns[column] >= fields.size()) {
+                return "missing " + COLUMNS.get(column);
+            }
+            String value = field(fields, columns, column);
+            if (value == null) {
+                continue;
+            }
+            if (column == AGE || column == CODEPOSTAL) {
+                try {
+                    Integer.parseInt(value.trim());
+                } catch (NumberFormatException e) {
+                    return "invalid " + COLUMNS.get(column) + " '" + value + "'";
+                }
+            } else if (value.length() > MAX_STRING_LENGTH) {
+                return COLUMNS.get(column) + " longer than " + MAX_STRING_LENGTH + " characters";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Encode the fields of a record in PostgreSQL CSV format, from the separator following the id to the line break.
+     */
+    private static String encode(List<String> fields, int[] columns) {
+        StringBuilder row = new StringBuilder(64);
+        for (int column = 0; column < columns.length; column++) {
+            row.append(',');
+            String value = field(fields, columns, column);
+            if (value == null) {
+                continue;
+            }
+            if (column == AGE || column == CODEPOSTAL) {
+                row.append(value.trim());
+            } else if (value.isEmpty() || value.chars().anyMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+                // empty strings are quoted, as unquoted empty fields are nulls
+                row.append('"').append(value.replace("\"", "\"\"")).append('"');
+            } else {
+                row.append(value);
+            }
+        }
+        return row.append('\n').toString();
+    }
+
+    private static void count(Map<String, Long> names, String name) {
+        if (name != null) {
+            names.merge(name, 1L, Long::sum);
+        }
+    }
+
+    private static String field(List<String> fields, int[] columns, int column) {
+        return columns[column] < 0 ? null : fields.get(columns[column]);
+    }
+
+    private static double rowsPerSecond(long rows, long durationNanos) {
+        return durationNanos > 0 ? rows * 1_000_000_000d / durationNanos : 0;
+    }
+
+    private record Segment(List<String> rows, long rejected, List<String> errors, NameCounts names, RuntimeException error) {}
+
+    private record NameCounts(Map<String, Long> noms, Map<String, Long> prenoms) {}
+}
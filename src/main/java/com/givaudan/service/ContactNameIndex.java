@@ -0,0 +1,265 @@
+package com.givaudan.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Prefix index of names with their number of occurrences, matching prefixes ignoring case.
+ * <p>
+ * The names are stored in a trie, whose nodes cache the most frequent names below them: a lookup walks down the prefix,
+ * then returns the cache of the node reached. The caches are kept up to date when a name is added, and repaired from the
+ * caches of the children, from the name up to the root, when a name they hold is removed: a lookup never reads more than
+ * the cache of its node.
+ * <p>
+ * This class is not thread-safe: updates must be exclusive, lookups may run concurrently with each other.
+ */
+final class ContactNameIndex {
+
+    /**
+     * Estimated size of a node: its object header and fields, and its entry in the arrays of its parent.
+     */
+    private static final int NODE_BYTES = 48;
+
+    /**
+     * Estimated size of a name, without its characters.
+     */
+    private static final int NAME_BYTES = 40;
+
+    private static final Comparator<Node> BY_FREQUENCY = Comparator.<Node>comparingLong(node -> node.count)
+        .reversed()
+        .thenComparing(node -> node.name);
+
+    private static final char[] NO_LABELS = new char[0];
+
+    private static final Node[] NO_NODES = new Node[0];
+
+    private final int capacity;
+
+    private final Node root = new Node();
+
+    private long nodes = 1;
+
+    private long names;
+
+    private long nameChars;
+
+    /**
+     * @param capacity the maximum number of names returned by a lookup.
+     */
+    ContactNameIndex(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Add occurrences of a name. Blank names are ignored.
+     *
+     * @param name the name.
+     * @param occurrences the number of occurrences to add.
+     */
+    void add(String name, long occurrences) {
+        String key = normalize(name);
+        if (key == null || key.isEmpty() || occurrences <= 0) {
+            return;
+        }
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            Node child = path[i].child(key.charAt(i));
+            if (child == null) {
+                child = path[i].addChild(key.charAt(i));
+                nodes++;
+            }
+            path[i + 1] = child;
+        }
+        Node node = path[key.length()];
+        if (node.count == 0) {
+            names++;
+            node.name = name.trim();
+            nameChars += node.name.length();
+        }
+        node.count += occurrences;
+        for (Node ancestor : path) {
+            ancestor.promote(node, capacity);
+        }
+    }
+
+    /**
+     * Remove occurrences of a name. Names which aren't indexed are ignored.
+     *
+     * @param name the name.
+     * @param occurrences the number of occurrences to remove.
+     */
+    void remove(String name, long occurrences) {
+        String key = normalize(name);
+        if (key == null || key.isEmpty() || occurrences <= 0) {
+            return;
+        }
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].child(key.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        Node node = path[key.length()];
+        if (node.count == 0) {
+            return;
+        }
+        node.count = Math.max(0, node.count - occurrences);
+        int depth = key.length();
+        if (node.count == 0) {
+            names--;
+            nameChars -= node.name.length();
+            node.name = null;
+            for (; depth > 0 && path[depth].count == 0 && path[depth].labels.length == 0; depth--) {
+                path[depth - 1].removeChild(key.charAt(depth - 1));
+                nodes--;
+            }
+        }
+        // Bottom-up, as each cache is repaired from the caches of the children
+        for (int i = depth; i >= 0; i--) {
+            path[i].demote(node, capacity);
+        }
+    }
+
+    /**
+     * Find the most frequent names starting with a prefix, ignoring case.
+     *
+     * @param prefix the prefix, an empty prefix matches every name.
+     * @param size the maximum number of names to return, at most the capacity of the index.
+     * @return the names, by decreasing number of occurrences.
+     */
+    List<Name> lookup(String prefix, int size) {
+        String key = normalize(prefix);
+        Node node = root;
+        for (int i = 0; key != null && i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        Node[] top = node.top;
+        List<Name> result = new ArrayList<>(Math.min(size, top.length));
+        for (int i = 0; i < top.length && i < size; i++) {
+            result.add(new Name(top[i].name, top[i].count));
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of distinct names.
+     */
+    long size() {
+        return names;
+    }
+
+    /**
+     * @return the estimated memory used by the index, in bytes.
+     */
+    long estimatedMemory() {
+        return nodes * NODE_BYTES + names * NAME_BYTES + nameChars * 2;
+    }
+
+    private static String normalize(String name) {
+        return name == null ? null : name.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * A name with its number of occurrences.
+     */
+    record Name(String name, long count) {}
+
+    private static final class Node {
+
+        private char[] labels = NO_LABELS;
+
+        private Node[] children = NO_NODES;
+
+        /**
+         * The name ending at this node, as it was first added, or {@code null} if no name ends here.
+         */
+        private String name;
+
+        private long count;
+
+        /**
+         * The most frequent names of the subtree, at most the capacity of the index.
+         */
+        private volatile Node[] top = NO_NODES;
+
+        private Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index < 0 ? null : children[index];
+        }
+
+        private Node addChild(char label) {
+            int index = -Arrays.binarySearch(labels, label) - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index, newLabels, index + 1, labels.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            Node child = new Node();
+            newLabels[index] = label;
+            newChildren[index] = child;
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        private void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, newLabels.length - index);
+            System.arraycopy(children, index + 1, newChildren, index, newChildren.length - index);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        /**
+         * Update the cache after the number of occurrences of a name of the subtree increased.
+         */
+        private void promote(Node node, int capacity) {
+            List<Node> updated = new ArrayList<>(Arrays.asList(top));
+            if (!updated.contains(node)) {
+                // The cache holds every name of the subtree when it isn't full
+                if (updated.size() == capacity && BY_FREQUENCY.compare(node, updated.get(capacity - 1)) > 0) {
+                    return;
+                }
+                updated.add(node);
+            }
+            updated.sort(BY_FREQUENCY);
+            top = updated.subList(0, Math.min(capacity, updated.size())).toArray(NO_NODES);
+        }
+
+        /**
+         * Update the cache after the number of occurrences of a name of the subtree decreased, once the caches of the
+         * children are up to date.
+         */
+        private void demote(Node node, int capacity) {
+            if (!Arrays.asList(top).contains(node)) {
+                // The names beyond the cache are still less frequent
+                return;
+            }
+            // The names which may now be more frequent are in the caches of the children, which hold the most frequent
+            // names of their subtrees
+            List<Node> candidates = new ArrayList<>();
+            if (count > 0) {
+                candidates.add(this);
+            }
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(BY_FREQUENCY);
+            top = candidates.subList(0, Math.min(capacity, candidates.size())).toArray(NO_NODES);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.givaudan.service;
+
+import com.givaudan.config.ApplicationProperties;
+import com.givaudan.domain.Contact;
+import com.givaudan.service.criteria.ContactCriteria;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.RangeFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Cache of the results of the queries of {@link Contact} entities by criteria, in front of {@link ContactQueryService}.
+ * <p>
+ * Results are cached by normalized criteria and page, under the generation of the cache they were computed in. Every
+ * committed write through {@link ContactService} or {@link ContactImportService} starts a new generation, so the results
+ * computed before it are never served again, and are evicted as the cache fills up. Since a result is stored under the
+ * generation read before running its query, a query running concurrently with a commit can't serve a stale result either.
+ * Writes made by other instances of the application, or outside of it, are only seen once the cached results expire.
+ * <p>
+ * The hits and misses are published by query and shape of the criteria, the operators used on each field and the sort,
+ * to tell which dashboards benefit from the cache.
+ */
+@Service
+public class ContactQueryCache {
+
+    public static final String CACHE_NAME = "contact.query";
+
+    public static final String GETS_METER_NAME = "contact.query.cache.gets";
+
+    static final String OTHER_SHAPE = "other";
+
+    private final Cache<Key, Object> cache;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final MeterRegistry meterRegistry;
+
+    private final int maxShapes;
+
+    private final Map<String, Counter[]> counters = new ConcurrentHashMap<>();
+
+    public ContactQueryCache(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.QueryCache properties = applicationProperties.getQueryCache();
+        this.meterRegistry = meterRegistry;
+        this.maxShapes = properties.getMaxShapes();
+        this.cache =
+            Caffeine
+                .newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(properties.getTtlSeconds()))
+                .maximumWeight(properties.getMaxContacts())
+                .weigher((Key key, Object value) -> value instanceof Page<?> page ? 1 + page.getNumberOfElements() : 1)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Return the cached result of a query, or run the query and cache its result.
+     * <p>
+     * Within a read-write transaction, the query is run without the cache, as it may see changes which aren't committed.
+     * The cached results are shared, so they must not be modified.
+     *
+     * @param query the name of the query.
+     * @param criteria the normalized criteria of the query.
+     * @param page the page of the query, or {@code null} if it isn't paginated.
+     * @param loader the query.
+     * @return the result of the query.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String query, ContactCriteria criteria, Pageable page, Supplier<T> loader) {
+        if (
+            TransactionSynchronizationManager.isActualTransactionActive() &&
+            !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        ) {
+            return loader.get();
+        }
+        Key key = new Key(query, generation.get(), criteria, page);
+        Counter[] hitAndMiss = counters(query, shape(criteria, page));
+        Object result = cache.getIfPresent(key);
+        if (result != null) {
+            hitAndMiss[0].increment();
+            return (T) result;
+        }
+        hitAndMiss[1].increment();
+        T loaded = loader.get();
+        cache.put(key, loaded);
+        return loaded;
+    }
+
+    /**
+     * Drop the cached results once the current transaction is committed.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        generation.incrementAndGet();
+                    }
+                }
+            );
+        } else {
+            generation.incrementAndGet();
+        }
+    }
+
+    private Counter[] counters(String query, String shape) {
+        String key = query + ' ' + shape;
+        Counter[] existing = counters.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (!OTHER_SHAPE.equals(shape) && counters.size() >= maxShapes) {
+            return counters(query, OTHER_SHAPE);
+        }
+        return counters.computeIfAbsent(key, k -> new Counter[] { counter(query, shape, "hit"), counter(query, shape, "miss") });
+    }
+
+    private Counter counter(String query, String shape, String result) {
+        return Counter
+            .builder(GETS_METER_NAME)
+            .tag("query", query)
+            .tag("shape", shape)
+            .tag("result", result)
+            .description("Queries of contacts by criteria served from the cache (hit) or from the database (miss).")
+            .register(meterRegistry);
+    }
+
+    /**
+     * The shape of criteria: the operators used on each field, and the sort of the page, such as
+     * {@code nom:contains,age:greaterThan+lessThan sort:nom}.
+     */
+    static String shape(ContactCriteria criteria, Pageable page) {
+        StringJoiner fields = new StringJoiner(",");
+        addShape(fields, "id", criteria.getId());
+        addShape(fields, "nom", criteria.getNom());
+        addShape(fields, "prenom", criteria.getPrenom());
+        addShape(fields, "age", criteria.getAge());
+        addShape(fields, "address", criteria.getAddress());
+        addShape(fields, "codepostal", criteria.getCodepostal());
+        String shape = fields.length() == 0 ? "none" : fields.toString();
+        if (page != null && page.getSort().isSorted()) {
+            StringJoiner sort = new StringJoiner(",", " sort:", "");
+            page.getSort().forEach(order -> sort.add(order.isDescending() ? order.getProperty() + "-" : order.getProperty()));
+            shape += sort;
+        }
+        return shape;
+    }
+
+    private static void addShape(StringJoiner fields, String field, Filter<?> filter) {
+        if (filter == null) {
+            return;
+        }
+        List<String> operators = new ArrayList<>();
+        addOperator(operators, "equals", filter.getEquals());
+        addOperator(operators, "notEquals", filter.getNotEquals());
+        addOperator(operators, "specified", filter.getSpecified());
+        addOperator(operators, "in", filter.getIn());
+        addOperator(operators, "notIn", filter.getNotIn());
+        if (filter instanceof RangeFilter<?> rangeFilter) {
+            addOperator(operators, "greaterThan", rangeFilter.getGreaterThan());
+            addOperator(operators, "greaterThanOrEqual", rangeFilter.getGreaterThanOrEqual());
+            addOperator(operators, "lessThan", rangeFilter.getLessThan());
+            addOperator(operators, "lessThanOrEqual", rangeFilter.getLessThanOrEqual());
+        }
+        if (filter instanceof StringFilter stringFilter) {
+            addOperator(operators, "contains", stringFilter.getContains());
+            addOperator(operators, "doesNotContain", stringFilter.getDoesNotContain());
+        }
+        if (!operators.isEmpty()) {
+            fields.add(field + ":" + String.join("+", operators));
+        }
+    }
+
+    private static void addOperator(List<String> operators, String operator, Object value) {
+        if (value != null) {
+            operators.add(operator);
+        }
+    }
+
+    private record Key(String query, long generation, ContactCriteria criteria, Pageable page) {}
+}
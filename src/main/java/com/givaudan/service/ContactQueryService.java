@@ -1,20 +1,59 @@
 package com.givaudan.service;
 
 import com.givaudan.domain.*; // for static metamodels
+import com.givaudan.config.ApplicationProperties;
 import com.givaudan.domain.Contact;
 import com.givaudan.repository.ContactRepository;
 import com.givaudan.service.criteria.ContactCriteria;
 import com.givaudan.service.dto.ContactDTO;
 import com.givaudan.service.mapper.ContactMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionTemplate;
 import tech.jhipster.service.QueryService;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.StringFilter;
 
 /**
  * Service for executing complex queries for {@link Contact} entities in the database.
@@ -26,15 +65,96 @@ import tech.jhipster.service.QueryService;
 @Transactional(readOnly = true)
 public class ContactQueryService extends QueryService<Contact> {
 
+    public static final String PARALLEL_COUNT_EXECUTOR_NAME = "contact.count.parallel";
+
+    static final String FIND_QUERY = "find";
+
+    static final String COUNT_QUERY = "count";
+
+    static final String VERSIONS_QUERY = "versions";
+
+    /**
+     * The fields which can be selected by {@link #findByCriteria(ContactCriteria, Pageable, List)}.
+     */
+    public static final List<String> FIELDS = List.of(
+        Contact_.ID,
+        Contact_.NOM,
+        Contact_.PRENOM,
+        Contact_.AGE,
+        Contact_.ADDRESS,
+        Contact_.CODEPOSTAL,
+        Contact_.VERSION
+    );
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private static final ContactCriteria UNFILTERED = new ContactCriteria();
+
+    /**
+     * Default size of the HikariCP pool.
+     */
+    private static final int DEFAULT_POOL_SIZE = 10;
+
     private final Logger log = LoggerFactory.getLogger(ContactQueryService.class);
 
     private final ContactRepository contactRepository;
 
     private final ContactMapper contactMapper;
 
-    public ContactQueryService(ContactRepository contactRepository, ContactMapper contactMapper) {
+    private final ApplicationProperties applicationProperties;
+
+    private final ContactQueryCache contactQueryCache;
+
+    /**
+     * Whether the counts may run in parallel with their page, which needs a pool large enough for their second connection.
+     */
+    private final boolean parallelCount;
+
+    /**
+     * Runs the counts in parallel with their page, rejecting them when all its threads are busy.
+     */
+    private final ExecutorService parallelCountExecutor;
+
+    private final TransactionTemplate parallelCountTransaction;
+
+    public ContactQueryService(
+        ContactRepository contactRepository,
+        ContactMapper contactMapper,
+        ApplicationProperties applicationProperties,
+        ContactQueryCache contactQueryCache,
+        PlatformTransactionManager transactionManager,
+        Environment env,
+        MeterRegistry meterRegistry
+    ) {
         this.contactRepository = contactRepository;
         this.contactMapper = contactMapper;
+        this.applicationProperties = applicationProperties;
+        this.contactQueryCache = contactQueryCache;
+        // The pages waiting for their count hold a connection each: most of the pool must stay available to the counts
+        int poolSize = env.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, DEFAULT_POOL_SIZE);
+        int parallelMaxConcurrency = Math.min(applicationProperties.getCount().getParallelMaxConcurrency(), poolSize / 4);
+        this.parallelCount = applicationProperties.getCount().isParallel() && parallelMaxConcurrency > 0;
+        if (applicationProperties.getCount().isParallel() && !parallelCount) {
+            log.warn("The connection pool of {} connections is too small to count the contacts in parallel", poolSize);
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            Math.max(parallelMaxConcurrency, 1),
+            Math.max(parallelMaxConcurrency, 1),
+            60,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            new CustomizableThreadFactory("contact-count-")
+        );
+        executor.allowCoreThreadTimeOut(true);
+        this.parallelCountExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor, PARALLEL_COUNT_EXECUTOR_NAME);
+        this.parallelCountTransaction = new TransactionTemplate(transactionManager);
+        this.parallelCountTransaction.setReadOnly(true);
+        this.parallelCountTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        parallelCountExecutor.shutdownNow();
     }
 
     /**
@@ -50,28 +170,347 @@ public class ContactQueryService extends QueryService<Contact> {
     }
 
     /**
-     * Return a {@link Page} of {@link ContactDTO} which matches the criteria from the database.
+     * Stream every {@link ContactDTO} which matches the criteria from the database, ordered by id, to the given action.
+     * Rows are read through a server-side cursor and detached once read, so memory use doesn't depend on the number of
+     * matches.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param action The action to perform on each matching entity, within the read transaction.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long streamByCriteria(ContactCriteria criteria, Consumer<ContactDTO> action) {
+        log.debug("stream by criteria : {}", criteria);
+        final Specification<Contact> specification = createSpecification(criteria);
+        long count = 0;
+        try (
+            Stream<Contact> contacts = contactRepository.streamAll(
+                specification,
+                Sort.by(Contact_.ID),
+                applicationProperties.getExport().getFetchSize()
+            )
+        ) {
+            for (Contact contact : (Iterable<Contact>) contacts::iterator) {
+                action.accept(contactMapper.toDto(contact));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Return a {@link Page} of {@link ContactDTO} which matches the criteria from the database, or from the
+     * {@link ContactQueryCache}.
+     * <p>
+     * When parallel counts are enabled, and this method starts its own transaction, the total of the page is counted on
+     * another connection while the page is read, in a transaction sharing the snapshot of the transaction of the page:
+     * the page and its total are consistent, as if they were read in the same transaction.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
-     * @return the matching entities.
+     * @return the matching entities, which must not be modified.
      */
     @Transactional(readOnly = true)
     public Page<ContactDTO> findByCriteria(ContactCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
+        // Read before the loader runs, as it only applies to the transaction started for this method
+        boolean parallel =
+            parallelCount &&
+            page.isPaged() &&
+            TransactionAspectSupport.currentTransactionStatus().isNewTransaction();
+        return contactQueryCache.get(
+            FIND_QUERY,
+            normalize(criteria),
+            page,
+            () -> {
+                Specification<Contact> specification = createSpecification(criteria);
+                Page<Contact> contacts = parallel
+                    ? findAllWithParallelCount(specification, page)
+                    : contactRepository.findAll(specification, page);
+                return contacts.map(contactMapper::toDto);
+            }
+        );
+    }
+
+    /**
+     * Read a page of contacts while counting the matching contacts in another transaction, which imports the snapshot of
+     * the current transaction. This must be the first query of the current transaction. When all the threads counting
+     * in parallel are busy, or when the count doesn't end in time once the page is read, as it may wait for a connection
+     * held by the pages waiting for their own count, the contacts are counted after the page instead.
+     * <p>
+     * The parallel count is cancelled by the database once it runs longer than the timeout: cancelling its task only
+     * interrupts its thread, which would leave the statement running and its connection busy while the page counts again.
+     */
+    private Page<Contact> findAllWithParallelCount(Specification<Contact> specification, Pageable page) {
+        String snapshot = contactRepository.exportSnapshot();
+        Future<Long> count;
+        try {
+            count =
+                parallelCountExecutor.submit(() ->
+                    parallelCountTransaction.execute(status -> {
+                        contactRepository.importSnapshot(snapshot);
+                        contactRepository.setStatementTimeout(applicationProperties.getCount().getParallelTimeoutMillis());
+                        return contactRepository.count(specification);
+                    })
+                );
+        } catch (RejectedExecutionException e) {
+            log.debug("No thread available to count in parallel, counting after the page");
+            return contactRepository.findAll(specification, page);
+        }
+        try {
+            List<Contact> content = contactRepository.findAllAsSlice(specification, page).getContent();
+            // The count must be joined before this transaction ends, for its snapshot to be imported
+            return new PageImpl<>(content, page, joinCount(count, specification));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while counting contacts", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Failed to count contacts", e.getCause());
+        } finally {
+            count.cancel(true);
+        }
+    }
+
+    private long joinCount(Future<Long> count, Specification<Contact> specification) throws InterruptedException, ExecutionException {
+        try {
+            return count.get(applicationProperties.getCount().getParallelTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.debug("The parallel count didn't end in time, counting after the page");
+            count.cancel(true);
+        } catch (ExecutionException e) {
+            if (!(e.getCause() instanceof QueryTimeoutException)) {
+                throw e;
+            }
+            log.debug("The parallel count was cancelled by its statement timeout, counting after the page");
+        }
+        return contactRepository.count(specification);
+    }
+
+    /**
+     * Return a {@link Page} of some fields of the contacts which match the criteria from the database. Only the columns of
+     * the fields are selected, and the rows are read as tuples: no entity is hydrated or mapped.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param fields The names of the fields to return, among {@link #FIELDS}. The id is always returned.
+     * @return the fields of the matching entities, by name, in the order of {@link #FIELDS}.
+     * @throws InvalidFieldsException if a field is unknown.
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findByCriteria(ContactCriteria criteria, Pageable page, List<String> fields) {
+        log.debug("find fields {} by criteria : {}, page: {}", fields, criteria, page);
+        for (String field : fields) {
+            if (!FIELDS.contains(field)) {
+                throw new InvalidFieldsException("Unknown field: " + field + ", the fields are " + String.join(",", FIELDS));
+            }
+        }
+        List<String> attributes = FIELDS.stream().filter(field -> Contact_.ID.equals(field) || fields.contains(field)).toList();
+        List<Map<String, Object>> content = new ArrayList<>();
+        for (Tuple tuple : contactRepository.findAllAsTuples(createSpecification(criteria), page, attributes)) {
+            Map<String, Object> contact = new LinkedHashMap<>();
+            for (String attribute : attributes) {
+                contact.put(attribute, tuple.get(attribute));
+            }
+            content.add(contact);
+        }
+        return PageableExecutionUtils.getPage(content, page, () -> countByCriteria(criteria));
+    }
+
+    /**
+     * Return the ids and versions of the {@link Page} of contacts returned by {@link #findByCriteria(ContactCriteria, Pageable)},
+     * with the same total, from the database or from the {@link ContactQueryCache}: whether the page changed is known
+     * without loading nor mapping its contacts.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the ids and versions of the matching entities, by name.
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findVersionsByCriteria(ContactCriteria criteria, Pageable page) {
+        log.debug("find versions by criteria : {}, page: {}", criteria, page);
+        return contactQueryCache.get(
+            VERSIONS_QUERY,
+            normalize(criteria),
+            page,
+            () -> findByCriteria(criteria, page, List.of(Contact_.VERSION))
+        );
+    }
+
+    /**
+     * Return the contacts of a page returned by {@link #findVersionsByCriteria(ContactCriteria, Pageable)}, in its order and
+     * with its total: the page is neither selected nor counted again, its contacts are loaded by id.
+     * @param versions The ids and versions of the contacts of the page.
+     * @return the contacts of the page which still exist.
+     */
+    @Transactional(readOnly = true)
+    public Page<ContactDTO> findByVersions(Page<Map<String, Object>> versions) {
+        log.debug("find by versions : {}", versions);
+        List<Long> ids = versions.getContent().stream().map(contact -> (Long) contact.get(Contact_.ID)).toList();
+        Map<Long, Contact> contacts = new LinkedHashMap<>();
+        contactRepository.findAllById(ids).forEach(contact -> contacts.put(contact.getId(), contact));
+        List<ContactDTO> content = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Contact contact = contacts.get(id);
+            if (contact != null) {
+                content.add(contactMapper.toDto(contact));
+            }
+        }
+        return new PageImpl<>(content, versions.getPageable(), versions.getTotalElements());
+    }
+
+    /**
+     * Return a {@link Slice} of {@link ContactDTO} which matches the criteria from the database, without counting them:
+     * one more row than the page size is read to know whether there is a next slice.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ContactDTO> findSliceByCriteria(ContactCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<Contact> specification = createSpecification(criteria);
+        return contactRepository.findAllAsSlice(specification, page).map(contactMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Page} of {@link ContactDTO} which matches the criteria from the database, whose total is estimated
+     * with {@link #estimateCountByCriteria(ContactCriteria)} unless the page is the last one, which gives the exact total.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public EstimatedPage<ContactDTO> findByCriteriaWithEstimatedCount(ContactCriteria criteria, Pageable page) {
+        log.debug("find by criteria with estimated count : {}, page: {}", criteria, page);
         final Specification<Contact> specification = createSpecification(criteria);
-        return contactRepository.findAll(specification, page).map(contactMapper::toDto);
+        Slice<Contact> slice = contactRepository.findAllAsSlice(specification, page);
+        List<ContactDTO> content = contactMapper.toDto(slice.getContent());
+        long seen = page.getOffset() + content.size();
+        if (!slice.hasNext() && (!content.isEmpty() || page.getOffset() == 0)) {
+            return new EstimatedPage<>(content, page, seen, true);
+        }
+        ContactCount count = estimateCountByCriteria(criteria);
+        // An outdated estimate can't be lower than the rows actually read
+        long total = Math.max(count.value(), slice.hasNext() ? seen + 1 : seen);
+        return new EstimatedPage<>(content, page, total, count.exact() && total == count.value());
+    }
+
+    /**
+     * Return a {@link Slice} of {@link ContactDTO} which matches the criteria from the database, using keyset pagination:
+     * the rows are selected after the given cursor instead of at an offset, and no count query is issued.
+     * The returned slice is sorted with {@link ContactCursor#keysetSort(Sort)}, which is the sort to build the next cursor with.
+     * A slice crossing the nulls of the first sort key is read with a second query, as each of them is bounded by an index.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after The encoded cursor to start after, or {@code null} for the first slice.
+     * @param page The size and sort of the slice, its page number is ignored.
+     * @return the matching entities.
+     * @throws InvalidCursorException if the cursor or the sort can't be used for keyset pagination.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ContactDTO> findByCriteriaAfter(ContactCriteria criteria, String after, Pageable page) {
+        log.debug("find by criteria : {}, after: {}, page: {}", criteria, after, page);
+        final Sort keysetSort = ContactCursor.keysetSort(page.getSort());
+        final Pageable keysetPage = PageRequest.of(0, page.getPageSize(), keysetSort);
+        final Specification<Contact> specification = createSpecification(criteria);
+        if (after == null) {
+            return contactRepository.findAllAsSlice(specification, keysetPage).map(contactMapper::toDto);
+        }
+        ContactCursor cursor = ContactCursor.decode(after, keysetSort);
+        Slice<Contact> slice = contactRepository.findAllAsSlice(specification.and(cursor.toSpecification()), keysetPage);
+        Optional<Specification<Contact>> following = cursor.toFollowingSpecification();
+        if (slice.hasNext() || following.isEmpty()) {
+            return slice.map(contactMapper::toDto);
+        }
+        // The rows on the side of the nulls of the first key the cursor is on ran out, the slice goes on with the other side
+        int remaining = page.getPageSize() - slice.getNumberOfElements();
+        Slice<Contact> rest = contactRepository.findAllAsSlice(
+            specification.and(following.get()),
+            PageRequest.of(0, Math.max(remaining, 1), keysetSort)
+        );
+        List<Contact> content = new ArrayList<>(slice.getContent());
+        content.addAll(rest.getContent().subList(0, Math.min(remaining, rest.getNumberOfElements())));
+        boolean hasNext = rest.hasNext() || rest.getNumberOfElements() > remaining;
+        return new SliceImpl<>(content, keysetPage, hasNext).map(contactMapper::toDto);
     }
 
     /**
-     * Return the number of matching entities in the database.
+     * Return the number of matching entities in the database, or from the {@link ContactQueryCache}.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the number of matching entities.
      */
     @Transactional(readOnly = true)
     public long countByCriteria(ContactCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
-        final Specification<Contact> specification = createSpecification(criteria);
-        return contactRepository.count(specification);
+        return contactQueryCache.get(COUNT_QUERY, normalize(criteria), null, () -> contactRepository.count(createSpecification(criteria)));
+    }
+
+    /**
+     * Return the number of matching entities in the database, estimated when counting them would read too many rows.
+     * <p>
+     * Without filter, the number of contacts is estimated from the planner statistics of the table, unless the table is
+     * small enough to be counted. With filters, the count is cached in the {@link ContactQueryCache}, shared with
+     * {@link #countByCriteria(ContactCriteria)}: a cached count is estimated, as it misses the writes of other instances.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities, and whether it is exact.
+     */
+    @Transactional(readOnly = true)
+    public ContactCount estimateCountByCriteria(ContactCriteria criteria) {
+        log.debug("estimate count by criteria : {}", criteria);
+        ContactCriteria key = normalize(criteria);
+        if (UNFILTERED.equals(key)) {
+            Long estimate = contactRepository.estimateCount();
+            if (estimate != null && estimate >= applicationProperties.getCount().getExactThreshold()) {
+                return new ContactCount(estimate, false);
+            }
+            return new ContactCount(contactRepository.count(), true);
+        }
+        AtomicBoolean counted = new AtomicBoolean();
+        long count = contactQueryCache.get(
+            COUNT_QUERY,
+            key,
+            null,
+            () -> {
+                counted.set(true);
+                return contactRepository.count(createSpecification(key));
+            }
+        );
+        return new ContactCount(count, counted.get());
+    }
+
+    /**
+     * Copy criteria to the form of the equivalent criteria used as cache key: without distinct, whose in lists are sorted
+     * and without duplicates, and whose contains values are upper case.
+     */
+    private static ContactCriteria normalize(ContactCriteria criteria) {
+        ContactCriteria key = criteria == null ? new ContactCriteria() : criteria.copy();
+        key.setDistinct(null);
+        normalize(key.getId());
+        normalize(key.getNom());
+        normalize(key.getPrenom());
+        normalize(key.getAge());
+        normalize(key.getAddress());
+        normalize(key.getCodepostal());
+        return key;
+    }
+
+    private static <T extends Comparable<? super T>> void normalize(Filter<T> filter) {
+        if (filter == null) {
+            return;
+        }
+        Comparator<T> order = Comparator.nullsFirst(Comparator.naturalOrder());
+        if (filter.getIn() != null) {
+            filter.setIn(filter.getIn().stream().distinct().sorted(order).toList());
+        }
+        if (filter.getNotIn() != null) {
+            filter.setNotIn(filter.getNotIn().stream().distinct().sorted(order).toList());
+        }
+        if (filter instanceof StringFilter stringFilter) {
+            if (stringFilter.getContains() != null) {
+                stringFilter.setContains(stringFilter.getContains().toUpperCase());
+            }
+            if (stringFilter.getDoesNotContain() != null) {
+                stringFilter.setDoesNotContain(stringFilter.getDoesNotContain().toUpperCase());
+            }
+        }
     }
 
     /**
@@ -107,4 +546,34 @@ public class ContactQueryService extends QueryService<Contact> {
         }
         return specification;
     }
+
+    /**
+     * Match the values containing the given value, ignoring case, with {@code upper(column) like '%VALUE%'}: this is the
+     * expression of the trigram indexes of the contact table. The wildcards of the value are escaped, so that it is
+     * matched literally.
+     */
+    @Override
+    protected Specification<Contact> likeUpperSpecification(Function<Root<Contact>, Expression<String>> metaclassFunction, String value) {
+        return (root, query, builder) -> builder.like(builder.upper(metaclassFunction.apply(root)), wrapLikeQuery(value), LIKE_ESCAPE);
+    }
+
+    @Override
+    protected Specification<Contact> doesNotContainSpecification(
+        Function<Root<Contact>, Expression<String>> metaclassFunction,
+        String value
+    ) {
+        return (root, query, builder) -> builder.notLike(builder.upper(metaclassFunction.apply(root)), wrapLikeQuery(value), LIKE_ESCAPE);
+    }
+
+    @Override
+    protected String wrapLikeQuery(String txt) {
+        StringBuilder pattern = new StringBuilder(txt.length() + 2).append('%');
+        for (char c : txt.toUpperCase().toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
 }
@@ -2,13 +2,21 @@ package com.givaudan.service;
 
 import com.givaudan.domain.Contact;
 import com.givaudan.repository.ContactRepository;
+import com.givaudan.service.dto.ContactBulkResultDTO;
 import com.givaudan.service.dto.ContactDTO;
 import com.givaudan.service.mapper.ContactMapper;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,9 +33,20 @@ public class ContactService {
 
     private final ContactMapper contactMapper;
 
-    public ContactService(ContactRepository contactRepository, ContactMapper contactMapper) {
+    private final ContactSuggestionService contactSuggestionService;
+
+    private final ContactQueryCache contactQueryCache;
+
+    public ContactService(
+        ContactRepository contactRepository,
+        ContactMapper contactMapper,
+        ContactSuggestionService contactSuggestionService,
+        ContactQueryCache contactQueryCache
+    ) {
         this.contactRepository = contactRepository;
         this.contactMapper = contactMapper;
+        this.contactSuggestionService = contactSuggestionService;
+        this.contactQueryCache = contactQueryCache;
     }
 
     /**
@@ -40,27 +59,146 @@ public class ContactService {
         log.debug("Request to save Contact : {}", contactDTO);
         Contact contact = contactMapper.toEntity(contactDTO);
         contact = contactRepository.save(contact);
-        return contactMapper.toDto(contact);
+        ContactDTO result = contactMapper.toDto(contact);
+        contactSuggestionService.update(null, result);
+        contactQueryCache.invalidate();
+        return result;
     }
 
     /**
-     * Update a contact.
+     * Update a contact. If the DTO has a version, the contact is only updated if it is still at this version.
      *
      * @param contactDTO the entity to save.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the contact was updated since the version of the DTO.
      */
     public ContactDTO update(ContactDTO contactDTO) {
         log.debug("Request to update Contact : {}", contactDTO);
+        // Loading the existing contact gives its previous names, and merging into it doesn't issue another select
+        ContactDTO previous = contactRepository.findById(contactDTO.getId()).map(contactMapper::toDto).orElse(null);
         Contact contact = contactMapper.toEntity(contactDTO);
+        if (contact.getVersion() == null && previous != null) {
+            contact.setVersion(previous.getVersion());
+        }
         contact = contactRepository.save(contact);
-        return contactMapper.toDto(contact);
+        ContactDTO result = contactMapper.toDto(contact);
+        contactSuggestionService.update(previous, result);
+        contactQueryCache.invalidate();
+        return result;
+    }
+
+    /**
+     * Save contacts in a single transaction. The inserts are sent to the database in JDBC batches, and the ids are
+     * allocated in blocks from the sequence.
+     * <p>
+     * Contacts which already have an id are rejected, the others are saved.
+     *
+     * @param contactDTOs the entities to save.
+     * @return the outcome of each entity.
+     */
+    public ContactBulkResultDTO saveAll(List<ContactDTO> contactDTOs) {
+        log.debug("Request to save {} Contacts", contactDTOs.size());
+        long start = System.nanoTime();
+        ContactBulkResultDTO result = new ContactBulkResultDTO();
+        List<Integer> indexes = new ArrayList<>();
+        List<Contact> contacts = new ArrayList<>();
+        for (int i = 0; i < contactDTOs.size(); i++) {
+            ContactDTO contactDTO = contactDTOs.get(i);
+            if (contactDTO.getId() != null) {
+                result.addRejection(i, contactDTO, "idexists");
+            } else {
+                indexes.add(i);
+                contacts.add(contactMapper.toEntity(contactDTO));
+            }
+        }
+        persistAll(contacts, indexes, ContactBulkResultDTO.Status.CREATED, result);
+        for (ContactBulkResultDTO.Item item : result.getItems()) {
+            if (item.getStatus() == ContactBulkResultDTO.Status.CREATED) {
+                contactSuggestionService.update(null, item.getContact());
+            }
+        }
+        result.complete(System.nanoTime() - start);
+        log.debug("Saved Contacts : {}", result);
+        return result;
     }
 
     /**
-     * Partially update a contact.
+     * Update contacts in a single transaction. The existing contacts are loaded with a single query, and the updates are
+     * sent to the database in JDBC batches.
+     * <p>
+     * Contacts without id, with an id which doesn't exist, or with an id already present in the request are rejected,
+     * the others are updated.
+     *
+     * @param contactDTOs the entities to update.
+     * @return the outcome of each entity.
+     * @throws ObjectOptimisticLockingFailureException if a contact was updated since the version of its DTO.
+     */
+    public ContactBulkResultDTO updateAll(List<ContactDTO> contactDTOs) {
+        log.debug("Request to update {} Contacts", contactDTOs.size());
+        long start = System.nanoTime();
+        ContactBulkResultDTO result = new ContactBulkResultDTO();
+        Set<Long> ids = new HashSet<>();
+        for (ContactDTO contactDTO : contactDTOs) {
+            if (contactDTO.getId() != null) {
+                ids.add(contactDTO.getId());
+            }
+        }
+        // Loading the existing contacts puts them in the persistence context, so saving them doesn't issue one select each
+        Map<Long, ContactDTO> existing = new HashMap<>();
+        contactRepository.findAllById(ids).forEach(contact -> existing.put(contact.getId(), contactMapper.toDto(contact)));
+
+        Set<Long> seenIds = new HashSet<>();
+        List<Integer> indexes = new ArrayList<>();
+        List<Contact> contacts = new ArrayList<>();
+        for (int i = 0; i < contactDTOs.size(); i++) {
+            ContactDTO contactDTO = contactDTOs.get(i);
+            if (contactDTO.getId() == null) {
+                result.addRejection(i, contactDTO, "idnull");
+            } else if (!existing.containsKey(contactDTO.getId())) {
+                result.addRejection(i, contactDTO, "idnotfound");
+            } else if (!seenIds.add(contactDTO.getId())) {
+                result.addRejection(i, contactDTO, "idduplicate");
+            } else {
+                indexes.add(i);
+                Contact contact = contactMapper.toEntity(contactDTO);
+                if (contact.getVersion() == null) {
+                    contact.setVersion(existing.get(contact.getId()).getVersion());
+                }
+                contacts.add(contact);
+            }
+        }
+        persistAll(contacts, indexes, ContactBulkResultDTO.Status.UPDATED, result);
+        for (ContactBulkResultDTO.Item item : result.getItems()) {
+            if (item.getStatus() == ContactBulkResultDTO.Status.UPDATED) {
+                contactSuggestionService.update(existing.get(item.getContact().getId()), item.getContact());
+            }
+        }
+        result.complete(System.nanoTime() - start);
+        log.debug("Updated Contacts : {}", result);
+        return result;
+    }
+
+    private void persistAll(
+        List<Contact> contacts,
+        List<Integer> indexes,
+        ContactBulkResultDTO.Status status,
+        ContactBulkResultDTO result
+    ) {
+        List<Contact> saved = contactRepository.saveAll(contacts);
+        contactQueryCache.invalidate();
+        // Flush now so the batched statements are part of the measured time, and their failures roll the whole request back
+        contactRepository.flush();
+        for (int i = 0; i < saved.size(); i++) {
+            result.addSuccess(indexes.get(i), status, contactMapper.toDto(saved.get(i)));
+        }
+    }
+
+    /**
+     * Partially update a contact. If the DTO has a version, the contact is only updated if it is still at this version.
      *
      * @param contactDTO the entity to update partially.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the contact was updated since the version of the DTO.
      */
     public Optional<ContactDTO> partialUpdate(ContactDTO contactDTO) {
         log.debug("Request to partially update Contact : {}", contactDTO);
@@ -68,12 +206,16 @@ public class ContactService {
         return contactRepository
             .findById(contactDTO.getId())
             .map(existingContact -> {
+                if (contactDTO.getVersion() != null && !contactDTO.getVersion().equals(existingContact.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Contact.class, contactDTO.getId());
+                }
+                ContactDTO previous = contactMapper.toDto(existingContact);
                 contactMapper.partialUpdate(existingContact, contactDTO);
-
-                return existingContact;
-            })
-            .map(contactRepository::save)
-            .map(contactMapper::toDto);
+                ContactDTO result = contactMapper.toDto(contactRepository.save(existingContact));
+                contactSuggestionService.update(previous, result);
+                contactQueryCache.invalidate();
+                return result;
+            });
     }
 
     /**
@@ -100,6 +242,18 @@ public class ContactService {
         return contactRepository.findById(id).map(contactMapper::toDto);
     }
 
+    /**
+     * Get the version of one contact by id, read alone from the database: the contact is neither loaded nor mapped.
+     *
+     * @param id the id of the entity.
+     * @return the version of the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        log.debug("Request to get the version of Contact : {}", id);
+        return contactRepository.findVersionById(id);
+    }
+
     /**
      * Delete the contact by id.
      *
@@ -107,6 +261,13 @@ public class ContactService {
      */
     public void delete(Long id) {
         log.debug("Request to delete Contact : {}", id);
-        contactRepository.deleteById(id);
+        contactRepository
+            .findById(id)
+            .ifPresent(contact -> {
+                ContactDTO previous = contactMapper.toDto(contact);
+                contactRepository.delete(contact);
+                contactSuggestionService.update(previous, null);
+                contactQueryCache.invalidate();
+            });
     }
 }
@@ -0,0 +1,271 @@
+package com.givaudan.service;
+
+import com.givaudan.domain.Contact;
+import com.givaudan.repository.ContactRepository;
+import com.givaudan.service.dto.ContactDTO;
+import com.givaudan.service.dto.ContactSuggestionDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service suggesting the values of the names of {@link Contact} entities from a prefix, without querying the database.
+ * <p>
+ * The values of nom and prenom are kept in memory in a {@link ContactNameIndex} each, built when the application starts.
+ * They are then updated with the changes made through {@link ContactService} and {@link ContactImportService}, once
+ * their transaction is committed, and periodically rebuilt from the database.
+ */
+@Service
+public class ContactSuggestionService {
+
+    public static final String MEMORY_METER_NAME = "contact.suggest.memory";
+
+    public static final String NAMES_METER_NAME = "contact.suggest.names";
+
+    public static final String REBUILD_TIME_METER_NAME = "contact.suggest.rebuild.time";
+
+    public static final int MAX_SUGGESTIONS = 20;
+
+    private static final Comparator<ContactSuggestionDTO> BY_COUNT = Comparator
+        .comparingLong(ContactSuggestionDTO::getCount)
+        .reversed()
+        .thenComparing(ContactSuggestionDTO::getValue);
+
+    private final Logger log = LoggerFactory.getLogger(ContactSuggestionService.class);
+
+    private final ContactRepository contactRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private ContactNameIndex nomIndex = new ContactNameIndex(MAX_SUGGESTIONS);
+
+    private ContactNameIndex prenomIndex = new ContactNameIndex(MAX_SUGGESTIONS);
+
+    /**
+     * Whether a rebuild is running: the rebuilds starting meanwhile don't wait for it, but make it run once more.
+     */
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+
+    /**
+     * The changes applied while the indexes are rebuilt, to replay on the new indexes, or {@code null} outside of a rebuild.
+     */
+    private List<Change> rebuildChanges;
+
+    private final TransactionTemplate rebuildTransaction;
+
+    private volatile long rebuildTimeMillis;
+
+    public ContactSuggestionService(
+        ContactRepository contactRepository,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.contactRepository = contactRepository;
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildTransaction.setReadOnly(true);
+        this.rebuildTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        Gauge
+            .builder(MEMORY_METER_NAME, this, service -> service.read(index -> (double) index.estimatedMemory()))
+            .baseUnit("bytes")
+            .description("Estimated memory used by the contact name suggestions.")
+            .register(meterRegistry);
+        Gauge
+            .builder(NAMES_METER_NAME, this, service -> service.read(index -> (double) index.size()))
+            .baseUnit("names")
+            .description("Distinct contact names which can be suggested.")
+            .register(meterRegistry);
+        TimeGauge
+            .builder(REBUILD_TIME_METER_NAME, this, TimeUnit.MILLISECONDS, service -> service.rebuildTimeMillis)
+            .description("Duration of the last build of the contact name suggestions.")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Rebuild the suggestions from the database, when the application is ready and then periodically. The current suggestions
+     * are served until the new ones are ready.
+     * <p>
+     * Both names are counted in a single snapshot, taken right after the changes start being recorded, and the changes
+     * recorded until the new suggestions replace the current ones are replayed on them. Only a change committed just before
+     * the snapshot, but applied after, is counted twice, until the next rebuild.
+     * <p>
+     * A rebuild requested while another one runs doesn't wait for it: the running one starts over once done, to see the
+     * changes which required the new rebuild.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+        initialDelayString = "${application.suggest.rebuild-interval-millis:3600000}",
+        fixedDelayString = "${application.suggest.rebuild-interval-millis:3600000}"
+    )
+    public void rebuild() {
+        rebuildRequested.set(true);
+        while (rebuildRequested.get() && rebuilding.compareAndSet(false, true)) {
+            try {
+                while (rebuildRequested.getAndSet(false)) {
+                    rebuildTransaction.executeWithoutResult(status -> rebuildFromDatabase());
+                }
+            } finally {
+                rebuilding.set(false);
+            }
+        }
+    }
+
+    private void rebuildFromDatabase() {
+        log.debug("Request to rebuild Contact suggestions");
+        long start = System.nanoTime();
+        ContactNameIndex noms = new ContactNameIndex(MAX_SUGGESTIONS);
+        ContactNameIndex prenoms = new ContactNameIndex(MAX_SUGGESTIONS);
+        lock.writeLock().lock();
+        try {
+            rebuildChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            // The first query takes the snapshot of the transaction, which the second one reads too
+            try (Stream<ContactRepository.NameCount> names = contactRepository.countByNom()) {
+                names.forEach(name -> noms.add(name.getName(), name.getTotal()));
+            }
+            try (Stream<ContactRepository.NameCount> names = contactRepository.countByPrenom()) {
+                names.forEach(name -> prenoms.add(name.getName(), name.getTotal()));
+            }
+            lock.writeLock().lock();
+            try {
+                rebuildChanges.forEach(change -> change.apply(noms, prenoms));
+                nomIndex = noms;
+                prenomIndex = prenoms;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                rebuildChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        rebuildTimeMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Built Contact suggestions of {} noms and {} prenoms in {} ms", noms.size(), prenoms.size(), rebuildTimeMillis);
+    }
+
+    /**
+     * Suggest the most frequent values of nom and prenom starting with a prefix, ignoring case.
+     *
+     * @param prefix the prefix of the values.
+     * @param size the maximum number of suggestions, at most {@link #MAX_SUGGESTIONS}.
+     * @return the suggestions, by decreasing number of contacts.
+     */
+    public List<ContactSuggestionDTO> suggest(String prefix, int size) {
+        log.debug("Request to suggest Contact names starting with : {}", prefix);
+        List<ContactSuggestionDTO> suggestions = new ArrayList<>(2 * size);
+        lock.readLock().lock();
+        try {
+            nomIndex.lookup(prefix, size).forEach(name -> suggestions.add(new ContactSuggestionDTO("nom", name.name(), name.count())));
+            prenomIndex
+                .lookup(prefix, size)
+                .forEach(name -> suggestions.add(new ContactSuggestionDTO("prenom", name.name(), name.count())));
+        } finally {
+            lock.readLock().unlock();
+        }
+        suggestions.sort(BY_COUNT);
+        return suggestions.size() > size ? new ArrayList<>(suggestions.subList(0, size)) : suggestions;
+    }
+
+    /**
+     * Update the suggestions with a change of a contact, once the current transaction is committed.
+     *
+     * @param previous the contact before the change, or {@code null} if it was created.
+     * @param current the contact after the change, or {@code null} if it was deleted.
+     */
+    public void update(ContactDTO previous, ContactDTO current) {
+        afterCommit((noms, prenoms) -> {
+            if (previous != null) {
+                noms.remove(previous.getNom(), 1);
+                prenoms.remove(previous.getPrenom(), 1);
+            }
+            if (current != null) {
+                noms.add(current.getNom(), 1);
+                prenoms.add(current.getPrenom(), 1);
+            }
+        });
+    }
+
+    /**
+     * Add names to the suggestions, once the current transaction is committed.
+     *
+     * @param noms the number of contacts created by value of nom.
+     * @param prenoms the number of contacts created by value of prenom.
+     */
+    public void addAll(Map<String, Long> noms, Map<String, Long> prenoms) {
+        afterCommit((nomIndex, prenomIndex) -> {
+            noms.forEach(nomIndex::add);
+            prenoms.forEach(prenomIndex::add);
+        });
+    }
+
+    private void afterCommit(Change change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        apply(change);
+                    }
+                }
+            );
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Change change) {
+        lock.writeLock().lock();
+        try {
+            change.apply(nomIndex, prenomIndex);
+            if (rebuildChanges != null) {
+                rebuildChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private double read(ToDoubleFunction<ContactNameIndex> metric) {
+        lock.readLock().lock();
+        try {
+            return metric.applyAsDouble(nomIndex) + metric.applyAsDouble(prenomIndex);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Change {
+        void apply(ContactNameIndex noms, ContactNameIndex prenoms);
+    }
+}
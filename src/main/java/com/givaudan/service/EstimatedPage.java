@@ -0,0 +1,37 @@
+package com.givaudan.service;
+
+import java.util.List;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * A {@link org.springframework.data.domain.Page} whose total may be estimated.
+ */
+public class EstimatedPage<T> extends PageImpl<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final boolean totalExact;
+
+    public EstimatedPage(List<T> content, Pageable pageable, long total, boolean totalExact) {
+        super(content, pageable, total);
+        this.totalExact = totalExact;
+    }
+
+    /**
+     * @return whether the total was counted by the query, or estimated.
+     */
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return super.equals(obj) && obj instanceof EstimatedPage<?> that && totalExact == that.totalExact;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Boolean.hashCode(totalExact);
+    }
+}
@@ -0,0 +1,10 @@
+package com.givaudan.service;
+
+public class InvalidFieldsException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidFieldsException(String message) {
+        super(message);
+    }
+}
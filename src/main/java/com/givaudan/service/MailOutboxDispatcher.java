@@ -0,0 +1,206 @@
+package com.givaudan.service;
+
+import com.givaudan.config.ApplicationProperties;
+import com.givaudan.domain.OutgoingMail;
+import com.givaudan.repository.OutgoingMailRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Delivers the mails of the outbox, written by {@link MailService}.
+ * <p>
+ * The pending mails are claimed by batches with {@code SELECT ... FOR UPDATE SKIP LOCKED}, so that each batch is
+ * delivered by a single dispatcher even with several instances of the application, and sent on a single connection to
+ * the SMTP server. The delivered mails are deleted, and the others retried later with an exponential backoff, until they
+ * are kept as failed. The mails delivered, retried and failed are counted by the {@code mail.outbox.mails} meter, whose
+ * rate is the throughput of the outbox, the time from their creation to their delivery is published as
+ * {@code mail.outbox.delay}, and the number and age of the oldest of the pending mails as {@code mail.outbox.pending}
+ * and {@code mail.outbox.lag}.
+ */
+@Service
+public class MailOutboxDispatcher {
+
+    public static final String MAILS_METER_NAME = "mail.outbox.mails";
+
+    private final Logger log = LoggerFactory.getLogger(MailOutboxDispatcher.class);
+
+    private final OutgoingMailRepository outgoingMailRepository;
+
+    private final MailService mailService;
+
+    private final JavaMailSender javaMailSender;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.MailOutbox properties;
+
+    private final Counter sentCounter;
+
+    private final Counter retriedCounter;
+
+    private final Counter failedCounter;
+
+    private final Timer delayTimer;
+
+    private final AtomicLong pending = new AtomicLong();
+
+    private final AtomicReference<Instant> oldestPending = new AtomicReference<>();
+
+    public MailOutboxDispatcher(
+        OutgoingMailRepository outgoingMailRepository,
+        MailService mailService,
+        JavaMailSender javaMailSender,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.outgoingMailRepository = outgoingMailRepository;
+        this.mailService = mailService;
+        this.javaMailSender = javaMailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getMailOutbox();
+        this.sentCounter = mailsCounter("sent", meterRegistry);
+        this.retriedCounter = mailsCounter("retried", meterRegistry);
+        this.failedCounter = mailsCounter("failed", meterRegistry);
+        this.delayTimer = Timer
+            .builder("mail.outbox.delay")
+            .description("Time from the creation of the mails of the outbox to their delivery")
+            .register(meterRegistry);
+        Gauge.builder("mail.outbox.pending", pending, AtomicLong::get).description("Mails waiting in the outbox").register(meterRegistry);
+        Gauge
+            .builder("mail.outbox.lag", oldestPending, oldest -> lagSeconds(oldest.get()))
+            .baseUnit("seconds")
+            .description("Age of the oldest mail waiting in the outbox")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Deliver the pending mails which are due, batch after batch, until none is left.
+     */
+    @Scheduled(fixedDelayString = "${application.mail-outbox.poll-interval-millis:1000}")
+    public void dispatch() {
+        int batchSize = properties.getBatchSize();
+        Integer claimed;
+        do {
+            claimed = transactionTemplate.execute(status -> deliverBatch(batchSize));
+        } while (claimed != null && claimed == batchSize);
+        pending.set(outgoingMailRepository.countByStatus(OutgoingMail.Status.PENDING));
+        oldestPending.set(outgoingMailRepository.findOldestCreatedDateByStatus(OutgoingMail.Status.PENDING).orElse(null));
+    }
+
+    /**
+     * Claim a batch of due mails and deliver them, in the current transaction.
+     *
+     * @return the number of mails claimed.
+     */
+    private int deliverBatch(int batchSize) {
+        Instant now = Instant.now();
+        List<OutgoingMail> mails = outgoingMailRepository.claimDue(now, batchSize);
+        if (mails.isEmpty()) {
+            return 0;
+        }
+        Map<MimeMessage, OutgoingMail> messages = new LinkedHashMap<>();
+        for (OutgoingMail mail : mails) {
+            try {
+                MimeMessage message = mailService.createMimeMessage(
+                    mail.getRecipient(),
+                    mail.getSubject(),
+                    mail.getContent(),
+                    mail.isMultipart(),
+                    mail.isHtml()
+                );
+                messages.put(message, mail);
+            } catch (MessagingException e) {
+                failed(mail, e, now);
+            }
+        }
+        if (messages.isEmpty()) {
+            return mails.size();
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        Exception batchFailure = null;
+        try {
+            javaMailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            // Without the failed messages, none of them is known to be delivered
+            batchFailure = failures.isEmpty() ? e : null;
+        } catch (MailException e) {
+            batchFailure = e;
+        }
+        List<OutgoingMail> sent = new ArrayList<>();
+        for (Map.Entry<MimeMessage, OutgoingMail> message : messages.entrySet()) {
+            Exception failure = batchFailure != null ? batchFailure : failures.get(message.getKey());
+            if (failure != null) {
+                failed(message.getValue(), failure, now);
+            } else {
+                sent.add(message.getValue());
+                delayTimer.record(Duration.between(message.getValue().getCreatedDate(), now));
+            }
+        }
+        outgoingMailRepository.deleteAllInBatch(sent);
+        sentCounter.increment(sent.size());
+        log.debug("Delivered {} mails of the outbox, {} failed", sent.size(), mails.size() - sent.size());
+        return mails.size();
+    }
+
+    private void failed(OutgoingMail mail, Exception e, Instant now) {
+        int attempts = mail.getAttempts() + 1;
+        mail.setAttempts(attempts);
+        String error = String.valueOf(e.getMessage());
+        mail.setLastError(error.substring(0, Math.min(error.length(), OutgoingMail.LAST_ERROR_MAX_LENGTH)));
+        if (attempts >= properties.getMaxAttempts()) {
+            mail.setStatus(OutgoingMail.Status.FAILED);
+            failedCounter.increment();
+            log.error("Email could not be sent to '{}' in {} attempts, giving up", mail.getRecipient(), attempts, e);
+        } else {
+            mail.setNextAttemptDate(now.plus(backoff(attempts)));
+            retriedCounter.increment();
+            log.warn("Email could not be sent to '{}', retrying at {}: {}", mail.getRecipient(), mail.getNextAttemptDate(), error);
+        }
+    }
+
+    /**
+     * The time before the next attempt to deliver a mail, doubled after each failed attempt.
+     *
+     * @param attempts the number of failed attempts, from 1.
+     */
+    Duration backoff(int attempts) {
+        long seconds = properties.getInitialBackoffSeconds() << Math.min(attempts - 1, 30);
+        return Duration.ofSeconds(Math.min(seconds, properties.getMaxBackoffSeconds()));
+    }
+
+    private static double lagSeconds(Instant oldest) {
+        return oldest == null ? 0 : Math.max(0, Duration.between(oldest, Instant.now()).toMillis()) / 1000.0;
+    }
+
+    private static Counter mailsCounter(String outcome, MeterRegistry meterRegistry) {
+        return Counter
+            .builder(MAILS_METER_NAME)
+            .description("Mails processed by the outbox, the rate of the sent mails is its throughput")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
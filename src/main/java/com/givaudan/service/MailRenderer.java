@@ -0,0 +1,160 @@
+package com.givaudan.service;
+
+import com.givaudan.config.ApplicationProperties;
+import com.givaudan.config.Constants;
+import com.givaudan.domain.User;
+import java.io.StringWriter;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Renders the emails sent from templates.
+ * <p>
+ * The templates of the emails are parsed, and the messages of each language loaded, at startup rather than on the first
+ * emails, by rendering each template once in the default language and in each of the languages configured by
+ * {@code application.mail-templates.languages}: the template engine keeps the parsed templates as long as its cache is
+ * enabled, which is the case outside of the {@code dev} profile. The subjects are resolved once per language, and the
+ * emails are rendered into a pool of reused buffers.
+ */
+@Component
+public class MailRenderer {
+
+    /**
+     * The templates of the emails, with the key of their subject.
+     */
+    static final Map<String, String> TEMPLATES = Map.of(
+        MailService.ACTIVATION_TEMPLATE,
+        MailService.ACTIVATION_TITLE_KEY,
+        MailService.CREATION_TEMPLATE,
+        MailService.CREATION_TITLE_KEY,
+        MailService.PASSWORD_RESET_TEMPLATE,
+        MailService.PASSWORD_RESET_TITLE_KEY
+    );
+
+    private static final String USER = "user";
+
+    private static final String BASE_URL = "baseUrl";
+
+    private static final int BUFFERS = 16;
+
+    private static final int BUFFER_SIZE = 4096;
+
+    /**
+     * Buffers which grew beyond this size, for an unusually large email, are dropped rather than kept in the pool.
+     */
+    private static final int MAX_BUFFER_SIZE = 64 * 1024;
+
+    private final Logger log = LoggerFactory.getLogger(MailRenderer.class);
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final MessageSource messageSource;
+
+    private final SpringTemplateEngine templateEngine;
+
+    /**
+     * The languages the templates are rendered in at startup, starting with the default language.
+     */
+    private final List<Locale> locales;
+
+    private final ConcurrentMap<Subject, String> subjects = new ConcurrentHashMap<>();
+
+    private final BlockingQueue<StringWriter> buffers = new ArrayBlockingQueue<>(BUFFERS);
+
+    public MailRenderer(
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        MessageSource messageSource,
+        SpringTemplateEngine templateEngine
+    ) {
+        this.jHipsterProperties = jHipsterProperties;
+        this.messageSource = messageSource;
+        this.templateEngine = templateEngine;
+        Set<Locale> locales = new LinkedHashSet<>();
+        locales.add(Locale.forLanguageTag(Constants.DEFAULT_LANGUAGE));
+        applicationProperties.getMailTemplates().getLanguages().forEach(language -> locales.add(Locale.forLanguageTag(language)));
+        this.locales = List.copyOf(locales);
+    }
+
+    /**
+     * Render each template in each language once, so that the first emails sent do not pay for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void precompile() {
+        long start = System.nanoTime();
+        User user = new User();
+        user.setLogin("precompile");
+        for (Locale locale : locales) {
+            user.setLangKey(locale.toLanguageTag());
+            TEMPLATES.forEach((templateName, titleKey) -> {
+                try {
+                    render(user, templateName, titleKey);
+                } catch (RuntimeException e) {
+                    log.warn("Mail template '{}' could not be precompiled in '{}'", templateName, locale, e);
+                }
+            });
+        }
+        log.debug(
+            "Precompiled {} mail templates in {} languages in {} ms",
+            TEMPLATES.size(),
+            locales.size(),
+            (System.nanoTime() - start) / 1_000_000
+        );
+    }
+
+    /**
+     * Render an email to a user, in the language of the user.
+     *
+     * @param user the user, available to the template as {@code user}.
+     * @param templateName the name of the template.
+     * @param titleKey the key of the message of the subject.
+     * @return the rendered email.
+     */
+    public RenderedMail render(User user, String templateName, String titleKey) {
+        Locale locale = Locale.forLanguageTag(user.getLangKey() != null ? user.getLangKey() : Constants.DEFAULT_LANGUAGE);
+        Context context = new Context(locale);
+        context.setVariable(USER, user);
+        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
+        String subject = subjects.computeIfAbsent(new Subject(titleKey, locale), key -> messageSource.getMessage(titleKey, null, locale));
+
+        StringWriter buffer = buffers.poll();
+        if (buffer == null) {
+            buffer = new StringWriter(BUFFER_SIZE);
+        }
+        try {
+            templateEngine.process(templateName, context, buffer);
+            return new RenderedMail(subject, buffer.toString());
+        } finally {
+            if (buffer.getBuffer().capacity() <= MAX_BUFFER_SIZE) {
+                buffer.getBuffer().setLength(0);
+                buffers.offer(buffer);
+            }
+        }
+    }
+
+    /**
+     * An email rendered from a template.
+     *
+     * @param subject the subject of the email.
+     * @param content the HTML content of the email.
+     */
+    public record RenderedMail(String subject, String content) {}
+
+    private record Subject(String titleKey, Locale locale) {}
+}
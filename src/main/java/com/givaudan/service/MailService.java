@@ -1,57 +1,68 @@
 package com.givaudan.service;
 
+import com.givaudan.config.Constants;
+import com.givaudan.domain.OutgoingMail;
 import com.givaudan.domain.User;
+import com.givaudan.repository.OutgoingMailRepository;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import java.nio.charset.StandardCharsets;
-import java.util.Locale;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.MessageSource;
 import org.springframework.mail.MailException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.context.Context;
-import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.config.JHipsterProperties;
 
 /**
  * Service for sending emails.
  * <p>
- * We use the {@link Async} annotation to send emails asynchronously.
+ * The emails sent from templates are written to the outbox in the transaction of the caller, and delivered by the
+ * {@link MailOutboxDispatcher} once it is committed: they are neither lost if the delivery fails, nor sent for a change
+ * which is rolled back. The other emails are sent right away, asynchronously with the {@link Async} annotation, on their
+ * own executor.
  */
 @Service
 public class MailService {
 
     private final Logger log = LoggerFactory.getLogger(MailService.class);
 
-    private static final String USER = "user";
+    static final String ACTIVATION_TEMPLATE = "mail/activationEmail";
 
-    private static final String BASE_URL = "baseUrl";
+    static final String ACTIVATION_TITLE_KEY = "email.activation.title";
+
+    static final String CREATION_TEMPLATE = "mail/creationEmail";
+
+    static final String CREATION_TITLE_KEY = "email.activation.title";
+
+    static final String PASSWORD_RESET_TEMPLATE = "mail/passwordResetEmail";
+
+    static final String PASSWORD_RESET_TITLE_KEY = "email.reset.title";
 
     private final JHipsterProperties jHipsterProperties;
 
     private final JavaMailSender javaMailSender;
 
-    private final MessageSource messageSource;
+    private final MailRenderer mailRenderer;
 
-    private final SpringTemplateEngine templateEngine;
+    private final OutgoingMailRepository outgoingMailRepository;
 
     public MailService(
         JHipsterProperties jHipsterProperties,
         JavaMailSender javaMailSender,
-        MessageSource messageSource,
-        SpringTemplateEngine templateEngine
+        MailRenderer mailRenderer,
+        OutgoingMailRepository outgoingMailRepository
     ) {
         this.jHipsterProperties = jHipsterProperties;
         this.javaMailSender = javaMailSender;
-        this.messageSource = messageSource;
-        this.templateEngine = templateEngine;
+        this.mailRenderer = mailRenderer;
+        this.outgoingMailRepository = outgoingMailRepository;
     }
 
-    @Async
+    @Async(Constants.MAIL_TASK_EXECUTOR)
     public void sendEmail(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
         log.debug(
             "Send email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
@@ -62,51 +73,68 @@ public class MailService {
             content
         );
 
-        // Prepare message using a Spring helper
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
         try {
-            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
-            message.setTo(to);
-            message.setFrom(jHipsterProperties.getMail().getFrom());
-            message.setSubject(subject);
-            message.setText(content, isHtml);
-            javaMailSender.send(mimeMessage);
+            javaMailSender.send(createMimeMessage(to, subject, content, isMultipart, isHtml));
             log.debug("Sent email to User '{}'", to);
         } catch (MailException | MessagingException e) {
             log.warn("Email could not be sent to user '{}'", to, e);
         }
     }
 
-    @Async
+    /**
+     * Write an email to the outbox, in the current transaction if any.
+     */
+    @Transactional
+    public void queueEmail(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
+        log.debug("Queue email[multipart '{}' and html '{}'] to '{}' with subject '{}'", isMultipart, isHtml, to, subject);
+        OutgoingMail mail = new OutgoingMail();
+        mail.setRecipient(to);
+        mail.setSubject(subject);
+        mail.setContent(content);
+        mail.setMultipart(isMultipart);
+        mail.setHtml(isHtml);
+        outgoingMailRepository.save(mail);
+    }
+
+    /**
+     * Prepare an email, using a Spring helper.
+     */
+    MimeMessage createMimeMessage(String to, String subject, String content, boolean isMultipart, boolean isHtml)
+        throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
+        message.setTo(to);
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(subject);
+        message.setText(content, isHtml);
+        return mimeMessage;
+    }
+
+    @Transactional
     public void sendEmailFromTemplate(User user, String templateName, String titleKey) {
         if (user.getEmail() == null) {
             log.debug("Email doesn't exist for user '{}'", user.getLogin());
             return;
         }
-        Locale locale = Locale.forLanguageTag(user.getLangKey());
-        Context context = new Context(locale);
-        context.setVariable(USER, user);
-        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
-        String content = templateEngine.process(templateName, context);
-        String subject = messageSource.getMessage(titleKey, null, locale);
-        sendEmail(user.getEmail(), subject, content, false, true);
+        MailRenderer.RenderedMail mail = mailRenderer.render(user, templateName, titleKey);
+        queueEmail(user.getEmail(), mail.subject(), mail.content(), false, true);
     }
 
-    @Async
+    @Transactional
     public void sendActivationEmail(User user) {
         log.debug("Sending activation email to '{}'", user.getEmail());
-        sendEmailFromTemplate(user, "mail/activationEmail", "email.activation.title");
+        sendEmailFromTemplate(user, ACTIVATION_TEMPLATE, ACTIVATION_TITLE_KEY);
     }
 
-    @Async
+    @Transactional
     public void sendCreationEmail(User user) {
         log.debug("Sending creation email to '{}'", user.getEmail());
-        sendEmailFromTemplate(user, "mail/creationEmail", "email.activation.title");
+        sendEmailFromTemplate(user, CREATION_TEMPLATE, CREATION_TITLE_KEY);
     }
 
-    @Async
+    @Transactional
     public void sendPasswordResetMail(User user) {
         log.debug("Sending password reset email to '{}'", user.getEmail());
-        sendEmailFromTemplate(user, "mail/passwordResetEmail", "email.reset.title");
+        sendEmailFromTemplate(user, PASSWORD_RESET_TEMPLATE, PASSWORD_RESET_TITLE_KEY);
     }
 }
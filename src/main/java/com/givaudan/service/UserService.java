@@ -6,6 +6,7 @@ import com.givaudan.domain.User;
 import com.givaudan.repository.AuthorityRepository;
 import com.givaudan.repository.UserRepository;
 import com.givaudan.security.AuthoritiesConstants;
+import com.givaudan.security.DomainUserDetailsService;
 import com.givaudan.security.SecurityUtils;
 import com.givaudan.service.dto.AdminUserDTO;
 import com.givaudan.service.dto.UserDTO;
@@ -38,10 +39,22 @@ public class UserService {
 
     private final AuthorityRepository authorityRepository;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository) {
+    private final MailService mailService;
+
+    private final DomainUserDetailsService userDetailsService;
+
+    public UserService(
+        UserRepository userRepository,
+        PasswordEncoder passwordEncoder,
+        AuthorityRepository authorityRepository,
+        MailService mailService,
+        DomainUserDetailsService userDetailsService
+    ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
+        this.mailService = mailService;
+        this.userDetailsService = userDetailsService;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -49,6 +62,7 @@ public class UserService {
         return userRepository
             .findOneByActivationKey(key)
             .map(user -> {
+                userDetailsService.evict(user);
                 // activate given user for the registration key.
                 user.setActivated(true);
                 user.setActivationKey(null);
@@ -63,6 +77,7 @@ public class UserService {
             .findOneByResetKey(key)
             .filter(user -> user.getResetDate().isAfter(Instant.now().minus(1, ChronoUnit.DAYS)))
             .map(user -> {
+                userDetailsService.evict(user);
                 user.setPassword(passwordEncoder.encode(newPassword));
                 user.setResetKey(null);
                 user.setResetDate(null);
@@ -77,6 +92,7 @@ public class UserService {
             .map(user -> {
                 user.setResetKey(RandomUtil.generateResetKey());
                 user.setResetDate(Instant.now());
+                mailService.sendPasswordResetMail(user);
                 return user;
             });
     }
@@ -118,6 +134,7 @@ public class UserService {
         authorityRepository.findById(AuthoritiesConstants.USER).ifPresent(authorities::add);
         newUser.setAuthorities(authorities);
         userRepository.save(newUser);
+        mailService.sendActivationEmail(newUser);
         log.debug("Created Information for User: {}", newUser);
         return newUser;
     }
@@ -161,6 +178,7 @@ public class UserService {
             user.setAuthorities(authorities);
         }
         userRepository.save(user);
+        mailService.sendCreationEmail(user);
         log.debug("Created Information for User: {}", user);
         return user;
     }
@@ -177,6 +195,7 @@ public class UserService {
             .filter(Optional::isPresent)
             .map(Optional::get)
             .map(user -> {
+                userDetailsService.evict(user);
                 user.setLogin(userDTO.getLogin().toLowerCase());
                 user.setFirstName(userDTO.getFirstName());
                 user.setLastName(userDTO.getLastName());
@@ -206,6 +225,7 @@ public class UserService {
         userRepository
             .findOneByLogin(login)
             .ifPresent(user -> {
+                userDetailsService.evict(user);
                 userRepository.delete(user);
                 log.debug("Deleted User: {}", user);
             });
@@ -225,6 +245,7 @@ public class UserService {
             .getCurrentUserLogin()
             .flatMap(userRepository::findOneByLogin)
             .ifPresent(user -> {
+                userDetailsService.evict(user);
                 user.setFirstName(firstName);
                 user.setLastName(lastName);
                 if (email != null) {
@@ -248,6 +269,7 @@ public class UserService {
                     throw new InvalidPasswordException();
                 }
                 String encryptedPassword = passwordEncoder.encode(newPassword);
+                userDetailsService.evict(user);
                 user.setPassword(encryptedPassword);
                 log.debug("Changed password for User: {}", user);
             });
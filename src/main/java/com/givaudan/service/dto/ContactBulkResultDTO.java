@@ -0,0 +1,123 @@
+package com.givaudan.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO reporting the outcome of a bulk create or update of {@link com.givaudan.domain.Contact} entities.
+ */
+public class ContactBulkResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Outcome of a single item of a bulk request.
+     */
+    public enum Status {
+        CREATED,
+        UPDATED,
+        REJECTED,
+    }
+
+    private final List<Item> items = new ArrayList<>();
+
+    private int succeeded;
+
+    private int failed;
+
+    private long durationMillis;
+
+    private double itemsPerSecond;
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public double getItemsPerSecond() {
+        return itemsPerSecond;
+    }
+
+    public void addSuccess(int index, Status status, ContactDTO contact) {
+        items.add(new Item(index, status, contact, null));
+        succeeded++;
+    }
+
+    public void addRejection(int index, ContactDTO contact, String error) {
+        items.add(new Item(index, Status.REJECTED, contact, error));
+        failed++;
+    }
+
+    /**
+     * Record the time spent processing the request, and the throughput reached on the persisted items.
+     *
+     * @param durationNanos the processing time, in nanoseconds.
+     */
+    public void complete(long durationNanos) {
+        this.items.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        this.durationMillis = durationNanos / 1_000_000;
+        this.itemsPerSecond = durationNanos > 0 ? succeeded * 1_000_000_000d / durationNanos : 0;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ContactBulkResultDTO{" +
+            "succeeded=" + getSucceeded() +
+            ", failed=" + getFailed() +
+            ", durationMillis=" + getDurationMillis() +
+            ", itemsPerSecond=" + getItemsPerSecond() +
+            "}";
+    }
+
+    /**
+     * Outcome of the item at {@code index} in the request.
+     */
+    public static class Item implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int index;
+
+        private final Status status;
+
+        private final ContactDTO contact;
+
+        private final String error;
+
+        public Item(int index, Status status, ContactDTO contact, String error) {
+            this.index = index;
+            this.status = status;
+            this.contact = contact;
+            this.error = error;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public ContactDTO getContact() {
+            return contact;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
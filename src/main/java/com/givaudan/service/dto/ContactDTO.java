@@ -21,6 +21,8 @@ public class ContactDTO implements Serializable {
 
     private Integer codepostal;
 
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -69,6 +71,14 @@ public class ContactDTO implements Serializable {
         this.codepostal = codepostal;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -100,6 +110,7 @@ public class ContactDTO implements Serializable {
             ", age=" + getAge() +
             ", address='" + getAddress() + "'" +
             ", codepostal=" + getCodepostal() +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -0,0 +1,74 @@
+package com.givaudan.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO reporting the outcome of a CSV import of {@link com.givaudan.domain.Contact} entities.
+ */
+public class ContactImportResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long imported;
+
+    private long rejected;
+
+    private List<String> errors = new ArrayList<>();
+
+    private long durationMillis;
+
+    private double rowsPerSecond;
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ContactImportResultDTO{" +
+            "imported=" + getImported() +
+            ", rejected=" + getRejected() +
+            ", durationMillis=" + getDurationMillis() +
+            ", rowsPerSecond=" + getRowsPerSecond() +
+            "}";
+    }
+}
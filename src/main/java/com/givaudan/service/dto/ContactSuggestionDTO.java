@@ -0,0 +1,77 @@
+package com.givaudan.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for a suggested value of a name of the {@link com.givaudan.domain.Contact} entity.
+ */
+public class ContactSuggestionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String field;
+
+    private String value;
+
+    private long count;
+
+    public ContactSuggestionDTO() {}
+
+    public ContactSuggestionDTO(String field, String value, long count) {
+        this.field = field;
+        this.value = value;
+        this.count = count;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public void setField(String field) {
+        this.field = field;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ContactSuggestionDTO)) {
+            return false;
+        }
+        ContactSuggestionDTO that = (ContactSuggestionDTO) o;
+        return count == that.count && Objects.equals(field, that.field) && Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(field, value, count);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ContactSuggestionDTO{" +
+            "field='" + getField() + "'" +
+            ", value='" + getValue() + "'" +
+            ", count=" + getCount() +
+            "}";
+    }
+}
@@ -8,4 +8,13 @@ import org.mapstruct.*;
  * Mapper for the entity {@link Contact} and its DTO {@link ContactDTO}.
  */
 @Mapper(componentModel = "spring")
-public interface ContactMapper extends EntityMapper<ContactDTO, Contact> {}
+public interface ContactMapper extends EntityMapper<ContactDTO, Contact> {
+    /**
+     * The version of a managed contact is only changed by Hibernate, the version of the DTO is checked by {@code ContactService}.
+     */
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget Contact entity, ContactDTO dto);
+}
@@ -1,25 +1,63 @@
 package com.givaudan.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.givaudan.config.ApplicationProperties;
+import com.givaudan.domain.Contact_;
 import com.givaudan.repository.ContactRepository;
+import com.givaudan.security.AuthoritiesConstants;
+import com.givaudan.service.ContactCount;
+import com.givaudan.service.ContactCsv;
+import com.givaudan.service.ContactCursor;
+import com.givaudan.service.ContactImportException;
+import com.givaudan.service.ContactImportService;
 import com.givaudan.service.ContactQueryService;
 import com.givaudan.service.ContactService;
+import com.givaudan.service.ContactSuggestionService;
+import com.givaudan.service.EstimatedPage;
+import com.givaudan.service.InvalidCursorException;
+import com.givaudan.service.InvalidFieldsException;
 import com.givaudan.service.criteria.ContactCriteria;
+import com.givaudan.service.dto.ContactBulkResultDTO;
 import com.givaudan.service.dto.ContactDTO;
+import com.givaudan.service.dto.ContactImportResultDTO;
+import com.givaudan.service.dto.ContactSuggestionDTO;
 import com.givaudan.web.rest.errors.BadRequestAlertException;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
@@ -35,6 +73,29 @@ public class ContactResource {
 
     private static final String ENTITY_NAME = "contact";
 
+    private static final String OFFSET_PAGINATION = "offset";
+
+    private static final String KEYSET_PAGINATION = "keyset";
+
+    private static final String SLICE_PAGINATION = "slice";
+
+    private static final String EXACT_COUNT = "exact";
+
+    private static final String ESTIMATED_COUNT = "estimated";
+
+    private static final String TOTAL_COUNT_ACCURACY_HEADER = "X-Total-Count-Accuracy";
+
+    private static final String NDJSON_FORMAT = "ndjson";
+
+    private static final String CSV_FORMAT = "csv";
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    /**
+     * Lets clients store the contacts, as long as they revalidate them with their ETag before each use.
+     */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -44,10 +105,30 @@ public class ContactResource {
 
     private final ContactQueryService contactQueryService;
 
-    public ContactResource(ContactService contactService, ContactRepository contactRepository, ContactQueryService contactQueryService) {
+    private final ContactImportService contactImportService;
+
+    private final ContactSuggestionService contactSuggestionService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final ObjectWriter exportWriter;
+
+    public ContactResource(
+        ContactService contactService,
+        ContactRepository contactRepository,
+        ContactQueryService contactQueryService,
+        ContactImportService contactImportService,
+        ContactSuggestionService contactSuggestionService,
+        ApplicationProperties applicationProperties,
+        ObjectMapper objectMapper
+    ) {
         this.contactService = contactService;
         this.contactRepository = contactRepository;
         this.contactQueryService = contactQueryService;
+        this.contactImportService = contactImportService;
+        this.contactSuggestionService = contactSuggestionService;
+        this.applicationProperties = applicationProperties;
+        this.exportWriter = objectMapper.writerFor(ContactDTO.class).without(SerializationFeature.INDENT_OUTPUT);
     }
 
     /**
@@ -70,6 +151,67 @@ public class ContactResource {
             .body(result);
     }
 
+    /**
+     * {@code POST  /contacts/bulk} : Create new contacts in a single transaction.
+     *
+     * @param contactDTOs the contactDTOs to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of each contactDTO,
+     * or with status {@code 400 (Bad Request)} if there are no or too many contactDTOs.
+     */
+    @PostMapping("/contacts/bulk")
+    public ResponseEntity<ContactBulkResultDTO> createContacts(@RequestBody List<ContactDTO> contactDTOs) {
+        log.debug("REST request to save {} Contacts", contactDTOs.size());
+        checkBulkSize(contactDTOs);
+        ContactBulkResultDTO result = contactService.saveAll(contactDTOs);
+        return ResponseEntity.ok().body(result);
+    }
+
+    /**
+     * {@code PUT  /contacts/bulk} : Updates existing contacts in a single transaction.
+     *
+     * @param contactDTOs the contactDTOs to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of each contactDTO,
+     * or with status {@code 400 (Bad Request)} if there are no or too many contactDTOs.
+     */
+    @PutMapping("/contacts/bulk")
+    public ResponseEntity<ContactBulkResultDTO> updateContacts(@RequestBody List<ContactDTO> contactDTOs) {
+        log.debug("REST request to update {} Contacts", contactDTOs.size());
+        checkBulkSize(contactDTOs);
+        ContactBulkResultDTO result = contactService.updateAll(contactDTOs);
+        return ResponseEntity.ok().body(result);
+    }
+
+    private void checkBulkSize(List<ContactDTO> contactDTOs) {
+        if (contactDTOs.isEmpty() || contactDTOs.contains(null)) {
+            throw new BadRequestAlertException("Invalid contacts", ENTITY_NAME, "bulkinvalid");
+        }
+        if (contactDTOs.size() > applicationProperties.getBulk().getMaxItems()) {
+            throw new BadRequestAlertException("Too many contacts", ENTITY_NAME, "bulktoolarge");
+        }
+    }
+
+    /**
+     * {@code POST  /contacts/import} : Import contacts from a CSV file, in a single transaction.
+     * <p>
+     * The file is streamed to the database with the PostgreSQL {@code COPY} protocol. Invalid rows are skipped and
+     * reported in the response.
+     *
+     * @param file the CSV file, with a header naming the columns and {@code ;} separated fields.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of the import,
+     * or with status {@code 400 (Bad Request)} if the file is not a valid CSV file.
+     * @throws IOException if the uploaded file can't be read.
+     */
+    @PostMapping(value = "/contacts/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<ContactImportResultDTO> importContacts(@RequestParam("file") MultipartFile file) throws IOException {
+        log.debug("REST request to import Contacts from : {}", file.getOriginalFilename());
+        try (InputStream csv = file.getInputStream()) {
+            return ResponseEntity.ok().body(contactImportService.importCsv(csv));
+        } catch (ContactImportException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "importinvalid");
+        }
+    }
+
     /**
      * {@code PUT  /contacts/:id} : Updates an existing contact.
      *
@@ -142,46 +284,373 @@ public class ContactResource {
 
     /**
      * {@code GET  /contacts} : get all the contacts.
+     * <p>
+     * Pages are selected by offset unless {@code pagination=keyset} or an {@code after} cursor is given: the page is then
+     * selected after the cursor, the total count is not computed and the cursor of the next page is sent in the
+     * {@code Link} header. With {@code pagination=slice}, pages are selected by offset but the total count is not computed
+     * either, and the next page is sent in the {@code Link} header when there is one.
+     * <p>
+     * With {@code count=estimated}, the total count may be estimated instead of counted, which the
+     * {@code X-Total-Count-Accuracy} header tells.
+     * <p>
+     * The response has an ETag derived from the ids and versions of the contacts, and from the pagination headers: when
+     * it matches the {@code If-None-Match} header, the contacts are not sent. With offset pagination and exact counts, the
+     * ETag is checked against the ids and versions of the page before the contacts are loaded, and the contacts of a page
+     * which changed are then loaded by id. The contacts are then also sorted by id after the requested sort, so that the
+     * ETag of a page doesn't depend on the order the database returns its equal rows in.
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of contacts in body.
+     * @param pagination the pagination mode, {@code offset} (default), {@code slice} or {@code keyset}.
+     * @param after the keyset cursor to start after.
+     * @param count the count mode of offset pagination, {@code exact} (default) or {@code estimated}.
+     * @param ifNoneMatch the ETags of the lists of contacts the client already has.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of contacts in body,
+     * or with status {@code 304 (Not Modified)} if the list matches the {@code If-None-Match} header,
+     * or with status {@code 400 (Bad Request)} if the cursor or the count mode is not valid.
      */
     @GetMapping("/contacts")
     public ResponseEntity<List<ContactDTO>> getAllContacts(
         ContactCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "pagination", required = false) String pagination,
+        @RequestParam(value = "after", required = false) String after,
+        @RequestParam(value = "count", required = false) String count,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) List<String> ifNoneMatch
     ) {
         log.debug("REST request to get Contacts by criteria: {}", criteria);
 
-        Page<ContactDTO> page = contactQueryService.findByCriteria(criteria, pageable);
+        if (KEYSET_PAGINATION.equals(pagination) || after != null) {
+            return getAllContactsAfter(criteria, pageable, after, ifNoneMatch);
+        }
+        if (SLICE_PAGINATION.equals(pagination)) {
+            return getAllContactsAsSlice(criteria, pageable, ifNoneMatch);
+        }
+        if (isEstimatedCount(count)) {
+            EstimatedPage<ContactDTO> page = contactQueryService.findByCriteriaWithEstimatedCount(criteria, pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            headers.add(TOTAL_COUNT_ACCURACY_HEADER, page.isTotalExact() ? EXACT_COUNT : ESTIMATED_COUNT);
+            return okOrNotModified(headers, page.getContent(), ifNoneMatch);
+        }
+        Pageable sortedPageable = sortedById(pageable);
+        if (ifNoneMatch != null) {
+            Page<Map<String, Object>> versions = contactQueryService.findVersionsByCriteria(criteria, sortedPageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), versions);
+            String eTag = listETag(headers, versions(versions.getContent()));
+            if (isNotModified(eTag, ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).eTag(eTag).cacheControl(REVALIDATE).build();
+            }
+            Page<ContactDTO> page = contactQueryService.findByVersions(versions);
+            return okOrNotModified(headers, page.getContent(), ifNoneMatch);
+        }
+        Page<ContactDTO> page = contactQueryService.findByCriteria(criteria, sortedPageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return okOrNotModified(headers, page.getContent(), ifNoneMatch);
+    }
+
+    /**
+     * {@code GET  /contacts?fields=} : get some fields of the contacts.
+     * <p>
+     * Only the columns of the requested fields are read from the database, and the contacts are neither loaded as entities
+     * nor mapped to DTOs. The pages are selected by offset, with their total count. The response has an ETag derived from
+     * the returned fields and the pagination headers.
+     *
+     * @param pageable the pagination information.
+     * @param criteria the criteria which the requested entities should match.
+     * @param fields the comma separated names of the fields to return, the id is always returned.
+     * @param pagination the pagination mode, only {@code offset} (default) is supported.
+     * @param after the keyset cursor, which is not supported.
+     * @param count the count mode, only {@code exact} (default) is supported.
+     * @param ifNoneMatch the ETags of the lists of contacts the client already has.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of the fields of the contacts in body,
+     * or with status {@code 304 (Not Modified)} if the list matches the {@code If-None-Match} header,
+     * or with status {@code 400 (Bad Request)} if a field is unknown or the pagination is not supported.
+     */
+    @GetMapping(value = "/contacts", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllContactFields(
+        ContactCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam("fields") List<String> fields,
+        @RequestParam(value = "pagination", required = false) String pagination,
+        @RequestParam(value = "after", required = false) String after,
+        @RequestParam(value = "count", required = false) String count,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) List<String> ifNoneMatch
+    ) {
+        log.debug("REST request to get the fields {} of Contacts by criteria: {}", fields, criteria);
+        if ((pagination != null && !OFFSET_PAGINATION.equals(pagination)) || after != null || isEstimatedCount(count)) {
+            throw new BadRequestAlertException(
+                "Fields are only supported with offset pagination and exact counts",
+                ENTITY_NAME,
+                "fieldsinvalid"
+            );
+        }
+        Page<Map<String, Object>> page;
+        try {
+            page = contactQueryService.findByCriteria(criteria, pageable, fields);
+        } catch (InvalidFieldsException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "fieldsinvalid");
+        }
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return okOrNotModified(headers, page.getContent(), page.getContent().toString(), ifNoneMatch);
+    }
+
+    private ResponseEntity<List<ContactDTO>> getAllContactsAsSlice(ContactCriteria criteria, Pageable pageable, List<String> ifNoneMatch) {
+        Slice<ContactDTO> slice = contactQueryService.findSliceByCriteria(criteria, pageable);
+        HttpHeaders headers = new HttpHeaders();
+        if (slice.hasNext()) {
+            UriComponentsBuilder uriBuilder = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .replaceQueryParam("page", slice.getNumber() + 1)
+                .replaceQueryParam("size", slice.getSize());
+            headers.add(HttpHeaders.LINK, "<" + uriBuilder.toUriString() + ">; rel=\"next\"");
+        }
+        return okOrNotModified(headers, slice.getContent(), ifNoneMatch);
+    }
+
+    private static boolean isEstimatedCount(String count) {
+        if (count == null || EXACT_COUNT.equals(count)) {
+            return false;
+        }
+        if (ESTIMATED_COUNT.equals(count)) {
+            return true;
+        }
+        throw new BadRequestAlertException("Unsupported count mode: " + count, ENTITY_NAME, "countinvalid");
+    }
+
+    private ResponseEntity<List<ContactDTO>> getAllContactsAfter(
+        ContactCriteria criteria,
+        Pageable pageable,
+        String after,
+        List<String> ifNoneMatch
+    ) {
+        Slice<ContactDTO> slice;
+        try {
+            slice = contactQueryService.findByCriteriaAfter(criteria, after == null || after.isEmpty() ? null : after, pageable);
+        } catch (InvalidCursorException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "cursorinvalid");
+        }
+        HttpHeaders headers = new HttpHeaders();
+        if (slice.hasNext()) {
+            ContactDTO last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            String next = ContactCursor.after(slice.getSort(), last).encode();
+            UriComponentsBuilder uriBuilder = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .replaceQueryParam("page")
+                .replaceQueryParam("after", next);
+            headers.add(HttpHeaders.LINK, "<" + uriBuilder.toUriString() + ">; rel=\"next\"");
+        }
+        return okOrNotModified(headers, slice.getContent(), ifNoneMatch);
+    }
+
+    /**
+     * Respond with a list of contacts, or with {@code 304 (Not Modified)} without it if its ETag matches: the ETag is
+     * derived from the id and version of each contact, as a change of any of them changes the list, and from the
+     * pagination headers, which change with the total or the next page.
+     */
+    private static ResponseEntity<List<ContactDTO>> okOrNotModified(
+        HttpHeaders headers,
+        List<ContactDTO> contacts,
+        List<String> ifNoneMatch
+    ) {
+        StringBuilder versions = new StringBuilder(contacts.size() * 16);
+        for (ContactDTO contact : contacts) {
+            versions.append(contact.getId()).append(':').append(contact.getVersion()).append(';');
+        }
+        return okOrNotModified(headers, contacts, versions, ifNoneMatch);
+    }
+
+    /**
+     * The ids and versions of a list of contacts, as returned by {@link ContactQueryService#findVersionsByCriteria}, in the
+     * form {@link #okOrNotModified(HttpHeaders, List, List)} derives its ETag from.
+     */
+    private static CharSequence versions(List<Map<String, Object>> contacts) {
+        StringBuilder versions = new StringBuilder(contacts.size() * 16);
+        for (Map<String, Object> contact : contacts) {
+            versions.append(contact.get(Contact_.ID)).append(':').append(contact.get(Contact_.VERSION)).append(';');
+        }
+        return versions;
+    }
+
+    private static <T> ResponseEntity<List<T>> okOrNotModified(
+        HttpHeaders headers,
+        List<T> content,
+        CharSequence state,
+        List<String> ifNoneMatch
+    ) {
+        String eTag = listETag(headers, state);
+        if (isNotModified(eTag, ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).eTag(eTag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().headers(headers).eTag(eTag).cacheControl(REVALIDATE).body(content);
+    }
+
+    /**
+     * The page sorted by id after its own sort, unless it already is, so that its rows come in a single order.
+     */
+    private static Pageable sortedById(Pageable pageable) {
+        if (pageable.isUnpaged() || pageable.getSort().getOrderFor(Contact_.ID) != null) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().and(Sort.by(Contact_.ID)));
+    }
+
+    private static String listETag(HttpHeaders headers, CharSequence state) {
+        return '"' + DigestUtils.md5DigestAsHex((state + ";" + headers).getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+
+    /**
+     * Whether an ETag matches the {@code If-None-Match} header, with the weak comparison this header uses.
+     */
+    private static boolean isNotModified(String eTag, List<String> ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch) {
+            String tag = candidate.trim();
+            if ("*".equals(tag) || eTag.equals(tag) || ("W/" + eTag).equals(tag)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
      * {@code GET  /contacts/count} : count all the contacts.
+     * <p>
+     * With {@code count=estimated}, the count may be estimated instead of counted, which the
+     * {@code X-Total-Count-Accuracy} header tells.
      *
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     * @param count the count mode, {@code exact} (default) or {@code estimated}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body,
+     * or with status {@code 400 (Bad Request)} if the count mode is not valid.
      */
     @GetMapping("/contacts/count")
-    public ResponseEntity<Long> countContacts(ContactCriteria criteria) {
+    public ResponseEntity<Long> countContacts(ContactCriteria criteria, @RequestParam(value = "count", required = false) String count) {
         log.debug("REST request to count Contacts by criteria: {}", criteria);
+        if (isEstimatedCount(count)) {
+            ContactCount result = contactQueryService.estimateCountByCriteria(criteria);
+            return ResponseEntity
+                .ok()
+                .header(TOTAL_COUNT_ACCURACY_HEADER, result.exact() ? EXACT_COUNT : ESTIMATED_COUNT)
+                .body(result.value());
+        }
         return ResponseEntity.ok().body(contactQueryService.countByCriteria(criteria));
     }
 
+    /**
+     * {@code GET  /contacts/suggest} : suggest the most frequent noms and prenoms starting with a prefix.
+     * <p>
+     * The suggestions are served from memory, without querying the database.
+     *
+     * @param prefix the prefix of the names, ignoring case.
+     * @param size the maximum number of suggestions.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the suggestions in body, by decreasing number of contacts,
+     * or with status {@code 400 (Bad Request)} if the size is invalid.
+     */
+    @GetMapping("/contacts/suggest")
+    public ResponseEntity<List<ContactSuggestionDTO>> suggestContacts(
+        @RequestParam String prefix,
+        @RequestParam(defaultValue = "10") int size
+    ) {
+        log.debug("REST request to suggest Contact names starting with : {}", prefix);
+        if (size < 1 || size > ContactSuggestionService.MAX_SUGGESTIONS) {
+            throw new BadRequestAlertException(
+                "The size must be between 1 and " + ContactSuggestionService.MAX_SUGGESTIONS,
+                ENTITY_NAME,
+                "sizeinvalid"
+            );
+        }
+        return ResponseEntity.ok().body(contactSuggestionService.suggest(prefix, size));
+    }
+
+    /**
+     * {@code GET  /contacts/export} : export all the contacts matching the criteria.
+     * <p>
+     * The contacts are streamed to the response while they are read from the database, ordered by id, so the export size
+     * is not bounded by the available memory.
+     *
+     * @param criteria the criteria which the exported entities should match.
+     * @param format the export format, {@code ndjson} (default) or {@code csv}.
+     * @param response the response to stream the contacts to.
+     * @throws IOException if the response can't be written to.
+     */
+    @GetMapping("/contacts/export")
+    public void exportContacts(
+        ContactCriteria criteria,
+        @RequestParam(value = "format", defaultValue = NDJSON_FORMAT) String format,
+        HttpServletResponse response
+    ) throws IOException {
+        log.debug("REST request to export Contacts by criteria: {}, format: {}", criteria, format);
+        boolean csv = CSV_FORMAT.equals(format);
+        if (!csv && !NDJSON_FORMAT.equals(format)) {
+            throw new BadRequestAlertException("Unsupported export format", ENTITY_NAME, "formatinvalid");
+        }
+
+        response.setContentType((csv ? TEXT_CSV_VALUE : MediaType.APPLICATION_NDJSON_VALUE) + ";charset=UTF-8");
+        response.setHeader(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename("contacts." + format).build().toString()
+        );
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        if (csv) {
+            writer.write(ContactCsv.HEADER);
+            writer.write('\n');
+        }
+        long count = contactQueryService.streamByCriteria(
+            criteria,
+            contact -> {
+                try {
+                    if (csv) {
+                        ContactCsv.appendRow(writer, contact);
+                    } else {
+                        writer.write(exportWriter.writeValueAsString(contact));
+                        writer.write('\n');
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        );
+        writer.flush();
+        log.debug("Exported {} Contacts", count);
+    }
+
     /**
      * {@code GET  /contacts/:id} : get the "id" contact.
+     * <p>
+     * The response has an ETag derived from the version of the contact: when it matches the {@code If-None-Match} header,
+     * the contact is neither loaded nor mapped nor sent, as only its version is read.
      *
      * @param id the id of the contactDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the contactDTO, or with status {@code 404 (Not Found)}.
+     * @param ifNoneMatch the ETags of the versions of the contact the client already has.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the contactDTO,
+     * or with status {@code 304 (Not Modified)} if the contact matches the {@code If-None-Match} header,
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/contacts/{id}")
-    public ResponseEntity<ContactDTO> getContact(@PathVariable Long id) {
+    public ResponseEntity<ContactDTO> getContact(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) List<String> ifNoneMatch
+    ) {
         log.debug("REST request to get Contact : {}", id);
+        if (ifNoneMatch != null) {
+            Optional<String> eTag = contactService.findVersion(id).map(ContactResource::versionETag);
+            if (eTag.isPresent() && isNotModified(eTag.get(), ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag.get()).cacheControl(REVALIDATE).build();
+            }
+        }
         Optional<ContactDTO> contactDTO = contactService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(contactDTO);
+        HttpHeaders headers = new HttpHeaders();
+        contactDTO.ifPresent(contact -> {
+            headers.setETag(versionETag(contact.getVersion()));
+            headers.setCacheControl(REVALIDATE);
+        });
+        return ResponseUtil.wrapOrNotFound(contactDTO, headers);
+    }
+
+    private static String versionETag(Long version) {
+        return "\"" + version + '"';
     }
 
     /**
@@ -4,7 +4,6 @@ import com.givaudan.config.Constants;
 import com.givaudan.domain.User;
 import com.givaudan.repository.UserRepository;
 import com.givaudan.security.AuthoritiesConstants;
-import com.givaudan.service.MailService;
 import com.givaudan.service.UserService;
 import com.givaudan.service.dto.AdminUserDTO;
 import com.givaudan.web.rest.errors.BadRequestAlertException;
@@ -85,12 +84,9 @@ public class UserResource {
 
     private final UserRepository userRepository;
 
-    private final MailService mailService;
-
-    public UserResource(UserService userService, UserRepository userRepository, MailService mailService) {
+    public UserResource(UserService userService, UserRepository userRepository) {
         this.userService = userService;
         this.userRepository = userRepository;
-        this.mailService = mailService;
     }
 
     /**
@@ -119,7 +115,6 @@ public class UserResource {
             throw new EmailAlreadyUsedException();
         } else {
             User newUser = userService.createUser(userDTO);
-            mailService.sendCreationEmail(newUser);
             return ResponseEntity
                 .created(new URI("/api/admin/users/" + newUser.getLogin()))
                 .headers(
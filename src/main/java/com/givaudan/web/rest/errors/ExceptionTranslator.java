@@ -2,6 +2,9 @@ package com.givaudan.web.rest.errors;
 
 import static org.springframework.core.annotation.AnnotatedElementUtils.findMergedAnnotation;
 
+import com.givaudan.security.LoginAttemptsExceededException;
+import com.givaudan.security.PasswordHashingRejectedException;
+import com.givaudan.service.ContactImportRejectedException;
 import jakarta.servlet.http.HttpServletRequest;
 import java.net.URI;
 import java.util.Arrays;
@@ -219,6 +222,9 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
         if (err instanceof AccessDeniedException) return HttpStatus.FORBIDDEN;
         if (err instanceof ConcurrencyFailureException) return HttpStatus.CONFLICT;
         if (err instanceof BadCredentialsException) return HttpStatus.UNAUTHORIZED;
+        if (err instanceof LoginAttemptsExceededException) return HttpStatus.TOO_MANY_REQUESTS;
+        if (err instanceof PasswordHashingRejectedException) return HttpStatus.SERVICE_UNAVAILABLE;
+        if (err instanceof ContactImportRejectedException) return HttpStatus.SERVICE_UNAVAILABLE;
         return null;
     }
 
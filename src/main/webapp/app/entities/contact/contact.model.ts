@@ -5,6 +5,7 @@ export interface IContact {
   age?: number | null;
   address?: string | null;
   codepostal?: number | null;
+  version?: number | null;
 }
 
 export type NewContact = Omit<IContact, 'id'> & { id: null };
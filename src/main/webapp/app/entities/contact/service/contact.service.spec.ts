@@ -86,6 +86,19 @@ describe('Contact Service', () => {
       expect(expectedResult).toMatchObject([expected]);
     });
 
+    it('should return a slice of Contact without total', () => {
+      const returnedFromService = { ...requireRestSample };
+
+      const expected = { ...sampleWithRequiredData };
+
+      service.query({ page: 0, size: 20 }, false).subscribe(resp => (expectedResult = resp.body));
+
+      const req = httpMock.expectOne(request => request.method === 'GET' && request.params.get('pagination') === 'slice');
+      req.flush([returnedFromService]);
+      httpMock.verify();
+      expect(expectedResult).toMatchObject([expected]);
+    });
+
     it('should delete a Contact', () => {
       const expected = true;
 
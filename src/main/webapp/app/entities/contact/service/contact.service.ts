@@ -34,8 +34,12 @@ export class ContactService {
     return this.http.get<IContact>(`${this.resourceUrl}/${id}`, { observe: 'response' });
   }
 
-  query(req?: any): Observable<EntityArrayResponseType> {
-    const options = createRequestOption(req);
+  /**
+   * Query a page of contacts. Without total, the total count isn't computed by the server:
+   * the X-Total-Count header is absent, and the Link header only tells the next page, if any.
+   */
+  query(req?: any, withTotal = true): Observable<EntityArrayResponseType> {
+    const options = createRequestOption(withTotal ? req : { ...req, pagination: 'slice' });
     return this.http.get<IContact[]>(this.resourceUrl, { params: options, observe: 'response' });
   }
 
@@ -0,0 +1,96 @@
+package com.givaudan.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.undertow.Undertow;
+import io.undertow.server.HttpHandler;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ApiDispatchHandlerTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> new Thread(runnable, "api-test"));
+
+    private final Semaphore permits = new Semaphore(1);
+
+    private final AtomicInteger rejected = new AtomicInteger();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private Undertow server;
+
+    private int port;
+
+    @BeforeEach
+    void setUp() {
+        HttpHandler next = exchange -> {
+            if (exchange.getRequestPath().endsWith("/slow")) {
+                release.await(10, TimeUnit.SECONDS);
+            }
+            exchange.getResponseSender().send(Thread.currentThread().getName());
+        };
+        server =
+            Undertow
+                .builder()
+                .addHttpListener(0, "localhost")
+                .setHandler(new ApiDispatchHandler(next, "/api/", executor, permits, 100, rejected::incrementAndGet))
+                .build();
+        server.start();
+        port = ((InetSocketAddress) server.getListenerInfo().get(0).getAddress()).getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void apiRequestsRunOnTheExecutor() throws Exception {
+        assertThat(get("/api/account").body()).isEqualTo("api-test");
+        assertThat(get("/index.html").body()).isNotEqualTo("api-test");
+        assertThat(permits.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void apiRequestsBeyondThePermitsAreRejected() throws Exception {
+        CompletableFuture<HttpResponse<String>> slow = client.sendAsync(request("/api/slow"), HttpResponse.BodyHandlers.ofString());
+        while (permits.availablePermits() > 0) {
+            Thread.sleep(10);
+        }
+
+        HttpResponse<String> response = get("/api/account");
+        assertThat(response.statusCode()).isEqualTo(503);
+        assertThat(response.headers().firstValue("Retry-After")).hasValue("1");
+        assertThat(rejected).hasValue(1);
+        assertThat(get("/index.html").statusCode()).isEqualTo(200);
+
+        release.countDown();
+        assertThat(slow.get(10, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+        assertThat(get("/api/account").statusCode()).isEqualTo(200);
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(request(path), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+    }
+}
@@ -0,0 +1,120 @@
+package com.givaudan.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class AsyncConfigurationTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry meterRegistry;
+
+    private AsyncConfiguration asyncConfiguration;
+
+    private ThreadPoolTaskExecutor executor;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final List<String> runs = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        asyncConfiguration = new AsyncConfiguration(new TaskExecutionProperties(), applicationProperties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void callerRunsRunsTheRejectedTasksOnTheSubmittingThread() throws Exception {
+        executor = createExecutor(ApplicationProperties.Async.RejectionPolicy.CALLER_RUNS);
+        fill();
+
+        executor.execute(() -> runs.add(Thread.currentThread().getName()));
+
+        assertThat(runs).containsExactly(Thread.currentThread().getName());
+        assertThat(rejected("caller_runs")).isEqualTo(1);
+        assertThat(meterRegistry.get("executor.queued").tag("name", "test").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("executor.active").tag("name", "test").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void dropOldestDropsTheQueuedTask() throws Exception {
+        executor = createExecutor(ApplicationProperties.Async.RejectionPolicy.DROP_OLDEST);
+        fill();
+
+        CountDownLatch ran = new CountDownLatch(1);
+        executor.execute(() -> {
+            runs.add("newest");
+            ran.countDown();
+        });
+        release.countDown();
+
+        assertThat(ran.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(runs).doesNotContain("queued");
+        assertThat(rejected("drop_oldest")).isEqualTo(1);
+        assertThat(meterRegistry.get("executor.idle").tag("name", "test").timer().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void failRejectsTheTask() throws Exception {
+        executor = createExecutor(ApplicationProperties.Async.RejectionPolicy.FAIL);
+        fill();
+
+        assertThatThrownBy(() -> executor.execute(() -> runs.add("rejected"))).isInstanceOf(TaskRejectedException.class);
+        assertThat(runs).isEmpty();
+        assertThat(rejected("fail")).isEqualTo(1);
+    }
+
+    private ThreadPoolTaskExecutor createExecutor(ApplicationProperties.Async.RejectionPolicy policy) {
+        ApplicationProperties.Async.Executor properties = new ApplicationProperties.Async.Executor();
+        properties.setConcurrency(1);
+        properties.setQueueCapacity(1);
+        properties.setRejectionPolicy(policy);
+        applicationProperties.getAsync().getExecutors().put("test", properties);
+        ThreadPoolTaskExecutor created = asyncConfiguration.createExecutor("test");
+        created.initialize();
+        return created;
+    }
+
+    /**
+     * Run a task blocked until released, and queue another one.
+     */
+    private void fill() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        executor.execute(() -> runs.add("queued"));
+    }
+
+    private double rejected(String policy) {
+        return meterRegistry.get(AsyncConfiguration.REJECTED_METER_NAME).tag("name", "test").tag("policy", policy).counter().count();
+    }
+}
@@ -12,4 +12,9 @@ public class AsyncSyncConfiguration {
     public Executor taskExecutor() {
         return new SyncTaskExecutor();
     }
+
+    @Bean(name = Constants.MAIL_TASK_EXECUTOR)
+    public Executor mailTaskExecutor() {
+        return new SyncTaskExecutor();
+    }
 }
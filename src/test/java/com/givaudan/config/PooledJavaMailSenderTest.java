@@ -0,0 +1,110 @@
+package com.givaudan.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+class PooledJavaMailSenderTest {
+
+    @RegisterExtension
+    static final GreenMailExtension smtpServer = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PooledJavaMailSender sender;
+
+    @AfterEach
+    void tearDown() {
+        sender.destroy();
+    }
+
+    @Test
+    void sendsOnTheSameConnection() throws Exception {
+        sender = createSender(Duration.ofMinutes(1));
+
+        sender.send(message(1));
+        sender.send(message(2));
+        sender.send(message(3), message(4));
+
+        assertThat(smtpServer.waitForIncomingEmail(5000, 4)).isTrue();
+        assertThat(connections("opened")).isEqualTo(1);
+        assertThat(connections("reused")).isEqualTo(2);
+        assertThat(meterRegistry.get(PooledJavaMailSender.SEND_METER_NAME).tag("outcome", "success").timer().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("mail.transport.idle").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void replacesTheConnectionsClosedByTheServer() throws Exception {
+        sender = createSender(Duration.ofMinutes(1));
+        sender.send(message(1));
+
+        smtpServer.reset();
+        sender.send(message(2));
+
+        assertThat(smtpServer.waitForIncomingEmail(5000, 1)).isTrue();
+        assertThat(smtpServer.getReceivedMessages()[0].getSubject()).isEqualTo("subject 2");
+        assertThat(connections("opened")).isEqualTo(2);
+        assertThat(connections("discarded")).isEqualTo(1);
+    }
+
+    @Test
+    void closesTheExpiredConnections() throws Exception {
+        sender = createSender(Duration.ZERO);
+
+        sender.send(message(1));
+        sender.send(message(2));
+
+        assertThat(smtpServer.waitForIncomingEmail(5000, 2)).isTrue();
+        assertThat(connections("opened")).isEqualTo(2);
+        assertThat(connections("reused")).isZero();
+        assertThat(connections("discarded")).isEqualTo(1);
+    }
+
+    @Test
+    void failsAllTheMessagesWhenTheServerIsDown() throws Exception {
+        sender = createSender(Duration.ofMinutes(1));
+        MimeMessage first = message(1);
+        MimeMessage second = message(2);
+        smtpServer.stop();
+
+        assertThatThrownBy(() -> sender.send(first, second))
+            .isInstanceOfSatisfying(
+                MailSendException.class,
+                e -> assertThat(e.getFailedMessages()).containsOnlyKeys(first, second)
+            );
+        assertThat(meterRegistry.get("mail.transport.idle").gauge().value()).isZero();
+    }
+
+    private PooledJavaMailSender createSender(Duration maxIdle) {
+        PooledJavaMailSender created = new PooledJavaMailSender(2, maxIdle, meterRegistry);
+        created.setHost("localhost");
+        created.setPort(ServerSetupTest.SMTP.getPort());
+        return created;
+    }
+
+    private MimeMessage message(int index) throws MessagingException {
+        MimeMessage mimeMessage = sender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage);
+        message.setTo("john.doe@localhost");
+        message.setFrom("givaudan-test@localhost");
+        message.setSubject("subject " + index);
+        message.setText("content " + index);
+        return mimeMessage;
+    }
+
+    private double connections(String state) {
+        return meterRegistry.get(PooledJavaMailSender.CONNECTIONS_METER_NAME).tag("state", state).counter().count();
+    }
+}
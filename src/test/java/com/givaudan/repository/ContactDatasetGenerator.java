@@ -0,0 +1,312 @@
+package com.givaudan.repository;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Generator of large datasets of contacts with realistic, French-style, distributions, for the benchmarks.
+ * <p>
+ * The noms, prenoms and street names follow Zipfian frequencies, the noms with a long tail of rare names, the postal
+ * codes are skewed towards the most populated departments, and the ages follow the adult population. The rows are
+ * generated by chunks, in parallel, and written with {@link ContactRepositoryWithCopy#copyIn}, one transaction by chunk.
+ * The content of each chunk only depends on the seed and on its index, so a dataset is reproduced by its seed and
+ * number of rows, whatever the number of threads; only the ids, taken from the sequence, differ between runs.
+ */
+public class ContactDatasetGenerator {
+
+    /**
+     * Number of rows by chunk, a multiple of {@link ContactRepositoryWithCopy#ID_BLOCK_SIZE}.
+     */
+    public static final int CHUNK_SIZE = 50_000;
+
+    /**
+     * The most frequent noms, by decreasing frequency.
+     */
+    public static final List<String> NOMS = List.of(
+        "MARTIN",
+        "BERNARD",
+        "THOMAS",
+        "PETIT",
+        "ROBERT",
+        "RICHARD",
+        "DURAND",
+        "DUBOIS",
+        "MOREAU",
+        "LAURENT",
+        "SIMON",
+        "MICHEL",
+        "LEFEBVRE",
+        "LEROY",
+        "ROUX",
+        "DAVID",
+        "BERTRAND",
+        "MOREL",
+        "FOURNIER",
+        "GIRARD",
+        "BONNET",
+        "DUPONT",
+        "LAMBERT",
+        "FONTAINE",
+        "ROUSSEAU",
+        "VINCENT",
+        "MULLER",
+        "LEFEVRE",
+        "FAURE",
+        "ANDRE",
+        "MERCIER",
+        "BLANC",
+        "GUERIN",
+        "BOYER",
+        "GARNIER",
+        "CHEVALIER",
+        "FRANCOIS",
+        "LEGRAND",
+        "GAUTHIER",
+        "GARCIA",
+        "PERRIN",
+        "ROBIN",
+        "CLEMENT",
+        "MORIN",
+        "NICOLAS",
+        "HENRY",
+        "ROUSSEL",
+        "MATHIEU",
+        "GAUTIER",
+        "MASSON"
+    );
+
+    private static final List<String> PRENOMS = List.of(
+        "Marie",
+        "Jean",
+        "Pierre",
+        "Michel",
+        "Nathalie",
+        "Isabelle",
+        "Philippe",
+        "Sylvie",
+        "Catherine",
+        "Alain",
+        "Nicolas",
+        "Françoise",
+        "Christophe",
+        "Sandrine",
+        "Patrick",
+        "Stéphane",
+        "Valérie",
+        "Christine",
+        "Frédéric",
+        "Laurent",
+        "Julien",
+        "Céline",
+        "Sébastien",
+        "Camille",
+        "Thomas",
+        "Anne",
+        "David",
+        "Sophie",
+        "Jacques",
+        "Martine",
+        "Léa",
+        "Manon",
+        "Hugo",
+        "Lucas",
+        "Emma",
+        "Chloé",
+        "Louis",
+        "Jade",
+        "Gabriel",
+        "Inès"
+    );
+
+    private static final List<String> STREETS = List.of(
+        "de la République",
+        "Victor Hugo",
+        "de l'Église",
+        "du Général de Gaulle",
+        "Jean Jaurès",
+        "de la Gare",
+        "Pasteur",
+        "Jules Ferry",
+        "de la Mairie",
+        "du Moulin",
+        "des Écoles",
+        "Gambetta",
+        "de la Paix",
+        "du Stade",
+        "de la Liberté",
+        "des Tilleuls",
+        "du Château",
+        "Émile Zola",
+        "de Verdun",
+        "des Lilas"
+    );
+
+    private static final List<String> STREET_TYPES = List.of("rue", "avenue", "place", "boulevard", "chemin", "allée", "impasse");
+
+    /**
+     * The departments of metropolitan France, by decreasing population.
+     */
+    // prettier-ignore
+    private static final int[] DEPARTMENTS = {
+        59, 75, 13, 69, 93, 92, 33, 62, 78, 77, 94, 31, 44, 91, 76, 95, 67, 34, 38, 6,
+        57, 35, 83, 29, 60, 74, 30, 54, 56, 49, 42, 68, 14, 64, 45, 17, 63, 37, 84, 72,
+        27, 22, 51, 80, 86, 71, 85, 66, 21, 25, 50, 81, 26, 73, 28, 1, 87, 11, 2, 79,
+        24, 10, 41, 47, 40, 3, 18, 88, 70, 65, 53, 16, 7, 12, 39, 61, 36, 8, 89, 52,
+        58, 19, 82, 9, 55, 43, 46, 32, 5, 4, 90, 15, 23, 48,
+    };
+
+    // prettier-ignore
+    private static final List<String> SYLLABLES = List.of(
+        "BA", "BE", "BO", "CA", "CHA", "DE", "DU", "FA", "FO", "GA", "GI", "LA", "LE", "LO", "MA", "ME",
+        "MO", "NA", "NO", "PE", "PI", "RA", "RE", "RI", "RO", "SA", "SE", "TA", "TE", "VA", "VI"
+    );
+
+    private static final List<String> ENDINGS = List.of("RD", "T", "UX", "L", "N", "NT", "S", "Y", "ND", "U");
+
+    private static final int NOM_RANKS = 100_000;
+
+    private final long seed;
+
+    private final String[] noms = new String[NOM_RANKS];
+
+    private final double[] nomFrequencies = zipf(NOM_RANKS, 0.9);
+
+    private final double[] prenomFrequencies = zipf(PRENOMS.size(), 0.8);
+
+    private final double[] streetFrequencies = zipf(STREETS.size(), 1.0);
+
+    private final double[] streetTypeFrequencies = zipf(STREET_TYPES.size(), 1.5);
+
+    private final double[] departmentFrequencies = zipf(DEPARTMENTS.length, 0.7);
+
+    private final double[] communeFrequencies = zipf(100, 1.2);
+
+    public ContactDatasetGenerator(long seed) {
+        this.seed = seed;
+        for (int rank = 0; rank < NOM_RANKS; rank++) {
+            noms[rank] = rank < NOMS.size() ? NOMS.get(rank) : rareNom(rank);
+        }
+    }
+
+    /**
+     * Generate contacts, and copy them into the {@code contact} table.
+     *
+     * @param contactRepository the repository to copy the contacts with.
+     * @param transactionManager the transaction manager of the repository.
+     * @param rows the number of contacts.
+     * @param threads the number of chunks generated and copied in parallel, each with its own connection.
+     * @return the smallest id of the contacts.
+     */
+    public long generate(ContactRepository contactRepository, PlatformTransactionManager transactionManager, long rows, int threads)
+        throws InterruptedException, ExecutionException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> chunks = new ArrayList<>();
+            for (long chunk = 0; chunk * CHUNK_SIZE < rows; chunk++) {
+                long index = chunk;
+                int size = (int) Math.min(CHUNK_SIZE, rows - chunk * CHUNK_SIZE);
+                chunks.add(executor.submit(() -> transaction.execute(status -> copy(contactRepository, index, size))));
+            }
+            long firstId = Long.MAX_VALUE;
+            for (Future<Long> chunk : chunks) {
+                firstId = Math.min(firstId, chunk.get());
+            }
+            return firstId;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long copy(ContactRepository contactRepository, long chunk, int size) {
+        int blockCount = (size + ContactRepositoryWithCopy.ID_BLOCK_SIZE - 1) / ContactRepositoryWithCopy.ID_BLOCK_SIZE;
+        List<Long> blocks = contactRepository.allocateIdBlocks(blockCount);
+        long[] ids = new long[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = blocks.get(i / ContactRepositoryWithCopy.ID_BLOCK_SIZE) + i % ContactRepositoryWithCopy.ID_BLOCK_SIZE;
+        }
+        StringBuilder csv = new StringBuilder(size * 64);
+        writeChunk(chunk, ids, csv);
+        contactRepository.copyIn(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+        return blocks.stream().mapToLong(Long::longValue).min().orElse(Long.MAX_VALUE);
+    }
+
+    /**
+     * Write the rows of a chunk, in the CSV format of {@link ContactRepositoryWithCopy#copyIn}.
+     *
+     * @param chunk the index of the chunk, which determines its content with the seed.
+     * @param ids the ids of the rows of the chunk.
+     * @param csv the CSV to write the rows to.
+     */
+    void writeChunk(long chunk, long[] ids, StringBuilder csv) {
+        RandomGenerator random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + chunk);
+        for (long id : ids) {
+            int department = DEPARTMENTS[sample(departmentFrequencies, random)];
+            int codepostal = department == 75 ? 75001 + random.nextInt(20) : department * 1000 + 10 * sample(communeFrequencies, random);
+            int age = (int) Math.max(18, Math.min(99, Math.round(47 + 18 * random.nextGaussian())));
+            int number = 1 + (int) Math.min(299, -30 * Math.log(1 - random.nextDouble()));
+            csv
+                .append(id)
+                .append(',')
+                .append(noms[sample(nomFrequencies, random)])
+                .append(',')
+                .append(PRENOMS.get(sample(prenomFrequencies, random)))
+                .append(',')
+                .append(age)
+                .append(',')
+                .append(number)
+                .append(' ')
+                .append(STREET_TYPES.get(sample(streetTypeFrequencies, random)))
+                .append(' ')
+                .append(STREETS.get(sample(streetFrequencies, random)))
+                .append(',')
+                .append(codepostal)
+                .append('\n');
+        }
+    }
+
+    /**
+     * A rare nom, built from syllables after the rank of the nom, such as {@code BABERD}.
+     */
+    private static String rareNom(int rank) {
+        int syllables = SYLLABLES.size();
+        return (
+            SYLLABLES.get(rank % syllables) +
+            SYLLABLES.get(rank / syllables % syllables) +
+            SYLLABLES.get(rank / (syllables * syllables) % syllables) +
+            ENDINGS.get(rank / (syllables * syllables * syllables) % ENDINGS.size())
+        );
+    }
+
+    /**
+     * The cumulative frequencies of the ranks of a Zipfian distribution.
+     */
+    private static double[] zipf(int ranks, double exponent) {
+        double[] cumulative = new double[ranks];
+        double total = 0;
+        for (int rank = 0; rank < ranks; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < ranks; rank++) {
+            cumulative[rank] /= total;
+        }
+        return cumulative;
+    }
+
+    private static int sample(double[] cumulative, RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,60 @@
+package com.givaudan.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+class ContactDatasetGeneratorTest {
+
+    private static final long[] IDS = LongStream.rangeClosed(1, ContactDatasetGenerator.CHUNK_SIZE).toArray();
+
+    @Test
+    void chunksAreReproducedFromTheSeed() {
+        assertThat(chunk(42, 3)).isEqualTo(chunk(42, 3));
+        assertThat(chunk(42, 3)).isNotEqualTo(chunk(42, 4));
+        assertThat(chunk(42, 3)).isNotEqualTo(chunk(43, 3));
+    }
+
+    @Test
+    void rowsHaveTheColumnsOfCopy() {
+        String[] rows = chunk(42, 0).split("\n");
+
+        assertThat(rows).hasSize(ContactDatasetGenerator.CHUNK_SIZE);
+        assertThat(rows).allSatisfy(row -> {
+            String[] fields = row.split(",", -1);
+            assertThat(fields).hasSize(6);
+            assertThat(Integer.parseInt(fields[3])).isBetween(18, 99);
+            assertThat(Integer.parseInt(fields[5])).isBetween(1000, 95999);
+        });
+        assertThat(rows[0]).startsWith("1,");
+    }
+
+    @Test
+    void nomsAndPostalCodesAreSkewed() {
+        String[] rows = chunk(42, 0).split("\n");
+        Map<String, Long> noms = count(rows, fields -> fields[1]);
+        Map<String, Long> departments = count(rows, fields -> fields[5].substring(0, fields[5].length() - 3));
+
+        assertThat(noms.get("MARTIN")).isGreaterThan(noms.get("LAURENT")).isGreaterThan(noms.getOrDefault("MASSON", 0L));
+        assertThat(noms).hasSizeGreaterThan(10_000);
+        assertThat(departments.get("59")).isGreaterThan(departments.getOrDefault("48", 0L) * 10);
+    }
+
+    private static String chunk(long seed, long chunk) {
+        StringBuilder csv = new StringBuilder();
+        new ContactDatasetGenerator(seed).writeChunk(chunk, IDS, csv);
+        return csv.toString();
+    }
+
+    private static Map<String, Long> count(String[] rows, Function<String[], String> field) {
+        return Arrays
+            .stream(rows)
+            .map(row -> field.apply(row.split(",")))
+            .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    }
+}
@@ -0,0 +1,81 @@
+package com.givaudan.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Test class for the {@link BoundedPasswordEncoder} utility class.
+ */
+class BoundedPasswordEncoderTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        passwordEncoder.destroy();
+    }
+
+    @Test
+    void testPasswordsAreHashedOnThePool() {
+        passwordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 10, meterRegistry);
+
+        String encoded = passwordEncoder.encode("password");
+
+        assertThat(passwordEncoder.matches("password", encoded)).isTrue();
+        assertThat(passwordEncoder.matches("other", encoded)).isFalse();
+        assertThat(meterRegistry.get("executor").tag("name", BoundedPasswordEncoder.EXECUTOR_NAME).timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("executor.queued").tag("name", BoundedPasswordEncoder.EXECUTOR_NAME).gauge().value()).isZero();
+    }
+
+    @Test
+    void testPasswordsAreRejectedOnceTheQueueIsFull() throws Exception {
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        passwordEncoder = new BoundedPasswordEncoder(blockingEncoder(hashing, release), 1, 1, meterRegistry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("running"));
+        assertThat(hashing.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("queued"));
+        while (meterRegistry.get("executor.queued").tag("name", BoundedPasswordEncoder.EXECUTOR_NAME).gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> passwordEncoder.encode("rejected")).isInstanceOf(PasswordHashingRejectedException.class);
+        assertThat(meterRegistry.get(BoundedPasswordEncoder.REJECTED_METER_NAME).counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("running");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch hashing, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+    }
+}
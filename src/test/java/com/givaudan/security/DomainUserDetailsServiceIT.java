@@ -6,12 +6,16 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import com.givaudan.IntegrationTest;
 import com.givaudan.domain.User;
 import com.givaudan.repository.UserRepository;
+import com.givaudan.service.UserService;
+import com.givaudan.service.dto.AdminUserDTO;
 import java.util.Locale;
+import java.util.Set;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,6 +37,9 @@ class DomainUserDetailsServiceIT {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserService userService;
+
     @Autowired
     @Qualifier("userDetailsService")
     private UserDetailsService domainUserDetailsService;
@@ -105,6 +112,19 @@ class DomainUserDetailsServiceIT {
         assertThat(userDetails.getUsername()).isEqualTo(USER_ONE_LOGIN);
     }
 
+    @Test
+    void assertThatChangedUserIsLoadedAgain() {
+        domainUserDetailsService.loadUserByUsername(USER_ONE_LOGIN);
+        User userOne = userRepository.findOneByLogin(USER_ONE_LOGIN).orElseThrow();
+        AdminUserDTO userDTO = new AdminUserDTO(userOne);
+        userDTO.setAuthorities(Set.of(AuthoritiesConstants.ADMIN));
+
+        userService.updateUser(userDTO);
+
+        UserDetails userDetails = domainUserDetailsService.loadUserByUsername(USER_ONE_LOGIN);
+        assertThat(userDetails.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly(AuthoritiesConstants.ADMIN);
+    }
+
     @Test
     void assertThatUserNotActivatedExceptionIsThrownForNotActivatedUsers() {
         assertThatExceptionOfType(UserNotActivatedException.class)
@@ -0,0 +1,90 @@
+package com.givaudan.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.givaudan.config.ApplicationProperties;
+import com.givaudan.domain.User;
+import com.givaudan.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashSet;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Unit tests for the cache of {@link DomainUserDetailsService}.
+ */
+class DomainUserDetailsServiceTest {
+
+    private static final String LOGIN = "test-user";
+
+    private static final String EMAIL = "test-user@localhost";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private UserRepository userRepository;
+
+    private DomainUserDetailsService domainUserDetailsService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setLogin(LOGIN);
+        user.setEmail(EMAIL);
+        user.setPassword("password");
+        user.setActivated(true);
+        user.setAuthorities(new HashSet<>());
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findOneWithAuthoritiesByLogin(LOGIN)).thenReturn(Optional.of(user));
+        when(userRepository.findOneWithAuthoritiesByEmailIgnoreCase(EMAIL)).thenReturn(Optional.of(user));
+        domainUserDetailsService = new DomainUserDetailsService(userRepository, new ApplicationProperties(), meterRegistry);
+    }
+
+    @Test
+    void assertThatUserIsLoadedOnceByLoginAndEmail() {
+        domainUserDetailsService.loadUserByUsername(LOGIN);
+        domainUserDetailsService.loadUserByUsername(LOGIN.toUpperCase());
+        domainUserDetailsService.loadUserByUsername(EMAIL);
+        domainUserDetailsService.loadUserByUsername(EMAIL);
+
+        verify(userRepository).findOneWithAuthoritiesByLogin(LOGIN);
+        verify(userRepository).findOneWithAuthoritiesByEmailIgnoreCase(EMAIL);
+        assertThat(gets("hit")).isEqualTo(2);
+        assertThat(gets("miss")).isEqualTo(2);
+    }
+
+    @Test
+    void assertThatCachedUserKeepsItsPasswordOnceCredentialsAreErased() {
+        UserDetails authenticated = domainUserDetailsService.loadUserByUsername(LOGIN);
+        ((org.springframework.security.core.userdetails.User) authenticated).eraseCredentials();
+
+        assertThat(domainUserDetailsService.loadUserByUsername(LOGIN).getPassword()).isEqualTo("password");
+    }
+
+    @Test
+    void assertThatEvictedUserIsLoadedAgain() {
+        domainUserDetailsService.loadUserByUsername(LOGIN);
+        domainUserDetailsService.loadUserByUsername(EMAIL);
+
+        domainUserDetailsService.evict(user);
+        user.setPassword("changed");
+
+        assertThat(domainUserDetailsService.loadUserByUsername(LOGIN).getPassword()).isEqualTo("changed");
+        assertThat(domainUserDetailsService.loadUserByUsername(EMAIL).getPassword()).isEqualTo("changed");
+        verify(userRepository, times(2)).findOneWithAuthoritiesByLogin(LOGIN);
+        verify(userRepository, times(2)).findOneWithAuthoritiesByEmailIgnoreCase(EMAIL);
+    }
+
+    private double gets(String result) {
+        return meterRegistry
+            .get("cache.gets")
+            .tags("cache", DomainUserDetailsService.CACHE_NAME, "result", result)
+            .functionCounter()
+            .count();
+    }
+}
@@ -0,0 +1,66 @@
+package com.givaudan.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.givaudan.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link LoginAttemptCache} utility class.
+ */
+class LoginAttemptCacheTest {
+
+    private static final String CLIENT = "192.0.2.1";
+
+    private static final String OTHER_CLIENT = "192.0.2.2";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LoginAttemptCache loginAttemptCache;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getPasswordHashing().setMaxFailedLogins(3);
+        loginAttemptCache = new LoginAttemptCache(applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void testLoginIsRejectedAfterTooManyFailures() {
+        loginAttemptCache.loginFailed("user", CLIENT);
+        loginAttemptCache.loginFailed("user", CLIENT);
+        assertThatCode(() -> loginAttemptCache.checkAllowed("user", CLIENT)).doesNotThrowAnyException();
+
+        loginAttemptCache.loginFailed("USER", CLIENT);
+
+        assertThatThrownBy(() -> loginAttemptCache.checkAllowed("User", CLIENT)).isInstanceOf(LoginAttemptsExceededException.class);
+        assertThatCode(() -> loginAttemptCache.checkAllowed("other", CLIENT)).doesNotThrowAnyException();
+        assertThat(meterRegistry.get(LoginAttemptCache.REJECTED_METER_NAME).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testLoginIsNotRejectedForOtherClients() {
+        loginAttemptCache.loginFailed("user", CLIENT);
+        loginAttemptCache.loginFailed("user", CLIENT);
+        loginAttemptCache.loginFailed("user", CLIENT);
+
+        assertThatThrownBy(() -> loginAttemptCache.checkAllowed("user", CLIENT)).isInstanceOf(LoginAttemptsExceededException.class);
+        assertThatCode(() -> loginAttemptCache.checkAllowed("user", OTHER_CLIENT)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void testSuccessfulLoginClearsTheFailures() {
+        loginAttemptCache.loginFailed("user", CLIENT);
+        loginAttemptCache.loginFailed("user", CLIENT);
+        loginAttemptCache.loginSucceeded("user", CLIENT);
+        loginAttemptCache.loginFailed("user", CLIENT);
+        loginAttemptCache.loginFailed("user", CLIENT);
+
+        assertThatCode(() -> loginAttemptCache.checkAllowed("user", CLIENT)).doesNotThrowAnyException();
+    }
+}
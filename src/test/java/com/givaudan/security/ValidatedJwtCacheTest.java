@@ -0,0 +1,93 @@
+package com.givaudan.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+/**
+ * Test class for the {@link ValidatedJwtCache} utility class.
+ */
+class ValidatedJwtCacheTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ValidatedJwtCache validatedJwtCache = new ValidatedJwtCache(10, meterRegistry);
+
+    private final AtomicInteger decoded = new AtomicInteger();
+
+    private Instant expiresAt;
+
+    private JwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        expiresAt = Instant.now().plusSeconds(60);
+        decoder = validatedJwtCache.decoder(token -> {
+            decoded.incrementAndGet();
+            if (token.startsWith("invalid")) {
+                throw new BadJwtException("Invalid token");
+            }
+            return Jwt.withTokenValue(token).header("alg", "HS512").subject("admin").expiresAt(expiresAt).build();
+        });
+    }
+
+    @Test
+    void testReusedTokenIsDecodedOnce() {
+        Jwt jwt = decoder.decode("token");
+
+        assertThat(decoder.decode("token")).isSameAs(jwt);
+        assertThat(decoder.decode("other")).isNotSameAs(jwt);
+        assertThat(decoded).hasValue(2);
+        assertThat(meterRegistry.get(ValidatedJwtCache.DECODE_METER_NAME).tag("cache", "hit").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ValidatedJwtCache.DECODE_METER_NAME).tag("cache", "miss").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", ValidatedJwtCache.CACHE_NAME, "result", "hit").functionCounter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testInvalidTokenIsNotCached() {
+        assertThatThrownBy(() -> decoder.decode("invalid")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("invalid")).isInstanceOf(BadJwtException.class);
+
+        assertThat(decoded).hasValue(2);
+    }
+
+    @Test
+    void testExpiredTokenIsNotCached() {
+        expiresAt = Instant.now().minusSeconds(1);
+
+        decoder.decode("token");
+        decoder.decode("token");
+
+        assertThat(decoded).hasValue(2);
+    }
+
+    @Test
+    void testAuthoritiesOfCachedTokenAreConvertedOnce() {
+        AtomicInteger converted = new AtomicInteger();
+        Converter<Jwt, Collection<GrantedAuthority>> converter = validatedJwtCache.authoritiesConverter(jwt -> {
+            converted.incrementAndGet();
+            return List.of(new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN));
+        });
+
+        Collection<GrantedAuthority> authorities = converter.convert(decoder.decode("token"));
+
+        assertThat(converter.convert(decoder.decode("token"))).isSameAs(authorities);
+        assertThat(converter.convert(decoder.decode("other"))).isEqualTo(authorities);
+        assertThat(converted).hasValue(2);
+    }
+}
@@ -1,9 +1,11 @@
 package com.givaudan.security.jwt;
 
+import com.givaudan.config.ApplicationProperties;
 import com.givaudan.config.SecurityConfiguration;
 import com.givaudan.config.SecurityJwtConfiguration;
 import com.givaudan.config.WebConfigurer;
 import com.givaudan.management.SecurityMetersService;
+import com.givaudan.security.LoginAttemptCache;
 import com.givaudan.web.rest.AuthenticateController;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -22,10 +24,12 @@ import tech.jhipster.config.JHipsterProperties;
     },
     classes = {
         JHipsterProperties.class,
+        ApplicationProperties.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
         SecurityMetersService.class,
+        LoginAttemptCache.class,
         AuthenticateController.class,
         JwtAuthenticationTestUtils.class,
     }
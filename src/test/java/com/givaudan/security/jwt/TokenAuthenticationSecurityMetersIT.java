@@ -20,6 +20,8 @@ class TokenAuthenticationSecurityMetersIT {
 
     private static final String INVALID_TOKENS_METER_EXPECTED_NAME = "security.authentication.invalid-tokens";
 
+    private static final String DECODE_METER_EXPECTED_NAME = "security.authentication.jwt.decode";
+
     @Autowired
     private MockMvc mvc;
 
@@ -77,6 +79,30 @@ class TokenAuthenticationSecurityMetersIT {
         assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "malformed").counter().count()).isEqualTo(count + 1);
     }
 
+    @Test
+    void testTokenUnsupportedCount() throws Exception {
+        var count = meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "unsupported").counter().count();
+
+        tryToAuthenticate(createTokenWithDifferentAlgorithm(jwtKey));
+
+        assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "unsupported").counter().count())
+            .isEqualTo(count + 1);
+    }
+
+    @Test
+    void testReusedTokenIsDecodedOnce() throws Exception {
+        String token = createValidToken(jwtKey);
+        var misses = meterRegistry.get(DECODE_METER_EXPECTED_NAME).tag("cache", "miss").timer().count();
+        var hits = meterRegistry.get(DECODE_METER_EXPECTED_NAME).tag("cache", "hit").timer().count();
+
+        tryToAuthenticate(token);
+        tryToAuthenticate(token);
+        tryToAuthenticate(token);
+
+        assertThat(meterRegistry.get(DECODE_METER_EXPECTED_NAME).tag("cache", "miss").timer().count()).isEqualTo(misses + 1);
+        assertThat(meterRegistry.get(DECODE_METER_EXPECTED_NAME).tag("cache", "hit").timer().count()).isEqualTo(hits + 2);
+    }
+
     private void tryToAuthenticate(String token) throws Exception {
         mvc.perform(MockMvcRequestBuilders.get("/api/authenticate").header(AUTHORIZATION, BEARER + token));
     }
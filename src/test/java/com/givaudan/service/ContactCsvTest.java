@@ -0,0 +1,69 @@
+package com.givaudan.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.givaudan.service.dto.ContactDTO;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class ContactCsvTest {
+
+    @Test
+    void appendRowWritesEmptyFieldsForNulls() throws Exception {
+        ContactDTO contact = new ContactDTO();
+        contact.setId(1L);
+        contact.setNom("Martin");
+        contact.setAge(42);
+
+        StringBuilder out = new StringBuilder();
+        ContactCsv.appendRow(out, contact);
+
+        assertThat(out).hasToString("1;Martin;;42;;\n");
+    }
+
+    @Test
+    void appendRowQuotesSpecialCharacters() throws Exception {
+        ContactDTO contact = new ContactDTO();
+        contact.setId(2L);
+        contact.setNom("Le \"Grand\"");
+        contact.setPrenom("Jean;Pierre");
+        contact.setAddress("1 rue\nde Paris");
+        contact.setCodepostal(75001);
+
+        StringBuilder out = new StringBuilder();
+        ContactCsv.appendRow(out, contact);
+
+        assertThat(out).hasToString("2;\"Le \"\"Grand\"\"\";\"Jean;Pierre\";;\"1 rue\nde Paris\";75001\n");
+    }
+
+    @Test
+    void readRecordParsesQuotedFields() throws Exception {
+        BufferedReader in = new BufferedReader(new StringReader("1;\"Le \"\"Grand\"\"\";;\"\";\"1 rue\r\nde Paris\";75001\r\n2;Martin\n"));
+
+        assertThat(ContactCsv.readRecord(in)).containsExactly("1", "Le \"Grand\"", null, "", "1 rue\r\nde Paris", "75001");
+        assertThat(ContactCsv.readRecord(in)).containsExactly("2", "Martin");
+        assertThat(ContactCsv.readRecord(in)).isNull();
+    }
+
+    @Test
+    void readRecordReadsWhatAppendRowWrites() throws Exception {
+        ContactDTO contact = new ContactDTO();
+        contact.setId(3L);
+        contact.setNom("Jean;\"Pierre\"");
+        contact.setCodepostal(13001);
+        StringBuilder out = new StringBuilder();
+        ContactCsv.appendRow(out, contact);
+
+        assertThat(ContactCsv.readRecord(new StringReader(out.toString())))
+            .isEqualTo(Arrays.asList("3", "Jean;\"Pierre\"", null, null, null, "13001"));
+    }
+
+    @Test
+    void readRecordRejectsUnterminatedQuote() {
+        assertThatThrownBy(() -> ContactCsv.readRecord(new StringReader("1;\"Martin"))).isInstanceOf(IOException.class);
+    }
+}
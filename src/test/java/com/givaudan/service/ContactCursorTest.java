@@ -0,0 +1,82 @@
+package com.givaudan.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.givaudan.service.dto.ContactDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class ContactCursorTest {
+
+    @Test
+    void keysetSortAppendsIdWhenMissing() {
+        assertThat(ContactCursor.keysetSort(Sort.by("nom"))).isEqualTo(Sort.by("nom").and(Sort.by("id")));
+        assertThat(ContactCursor.keysetSort(Sort.by(Sort.Direction.DESC, "id"))).isEqualTo(Sort.by(Sort.Direction.DESC, "id"));
+        assertThat(ContactCursor.keysetSort(Sort.unsorted())).isEqualTo(Sort.by("id"));
+    }
+
+    @Test
+    void keysetSortAppendsIdInTheDirectionOfTheLastOrder() {
+        assertThat(ContactCursor.keysetSort(Sort.by(Sort.Direction.DESC, "nom"))).isEqualTo(Sort.by(Sort.Direction.DESC, "nom", "id"));
+        assertThat(ContactCursor.keysetSort(Sort.by(Sort.Order.asc("age"), Sort.Order.desc("nom"))))
+            .isEqualTo(Sort.by(Sort.Order.asc("age"), Sort.Order.desc("nom"), Sort.Order.desc("id")));
+    }
+
+    @Test
+    void followingSpecificationCrossesTheNullsOfTheFirstKey() {
+        ContactDTO named = new ContactDTO();
+        named.setId(1L);
+        named.setNom("Dupont");
+        ContactDTO unnamed = new ContactDTO();
+        unnamed.setId(2L);
+        Sort ascending = ContactCursor.keysetSort(Sort.by(Sort.Direction.ASC, "nom"));
+        Sort descending = ContactCursor.keysetSort(Sort.by(Sort.Direction.DESC, "nom"));
+
+        // The nulls come after the values in ascending order, before them in descending order
+        assertThat(ContactCursor.after(ascending, named).toFollowingSpecification()).isPresent();
+        assertThat(ContactCursor.after(ascending, unnamed).toFollowingSpecification()).isEmpty();
+        assertThat(ContactCursor.after(descending, named).toFollowingSpecification()).isEmpty();
+        assertThat(ContactCursor.after(descending, unnamed).toFollowingSpecification()).isPresent();
+        assertThat(ContactCursor.after(ContactCursor.keysetSort(Sort.unsorted()), named).toFollowingSpecification()).isEmpty();
+    }
+
+    @Test
+    void keysetSortRejectsUnknownProperty() {
+        assertThatThrownBy(() -> ContactCursor.keysetSort(Sort.by("unknown"))).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        Sort sort = ContactCursor.keysetSort(Sort.by(Sort.Order.desc("age"), Sort.Order.asc("nom"), Sort.Order.asc("address")));
+        ContactDTO last = new ContactDTO();
+        last.setId(42L);
+        last.setAge(37);
+        last.setNom("Dupont;\n%");
+
+        ContactCursor cursor = ContactCursor.after(sort, last);
+        String token = cursor.encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+        ContactCursor decoded = ContactCursor.decode(token, sort);
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.getValues()).containsExactly(37, "Dupont;\n%", null, 42L);
+    }
+
+    @Test
+    void decodeRejectsCursorOfAnotherSort() {
+        ContactDTO last = new ContactDTO();
+        last.setId(1L);
+        String token = ContactCursor.after(ContactCursor.keysetSort(Sort.by("nom")), last).encode();
+
+        assertThatThrownBy(() -> ContactCursor.decode(token, ContactCursor.keysetSort(Sort.by("prenom"))))
+            .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void decodeRejectsMalformedCursor() {
+        Sort sort = ContactCursor.keysetSort(Sort.unsorted());
+        assertThatThrownBy(() -> ContactCursor.decode("not a cursor!", sort)).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> ContactCursor.decode("AAAA", sort)).isInstanceOf(InvalidCursorException.class);
+    }
+}
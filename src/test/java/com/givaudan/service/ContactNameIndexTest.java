@@ -0,0 +1,101 @@
+package com.givaudan.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ContactNameIndexTest {
+
+    @Test
+    void lookupReturnsMostFrequentNamesFirst() {
+        ContactNameIndex index = new ContactNameIndex(10);
+        index.add("Martin", 2);
+        index.add("Marchand", 5);
+        index.add("Mercier", 1);
+        index.add("Durand", 7);
+
+        assertThat(index.lookup("mar", 10))
+            .containsExactly(new ContactNameIndex.Name("Marchand", 5), new ContactNameIndex.Name("Martin", 2));
+        assertThat(index.lookup("M", 2))
+            .containsExactly(new ContactNameIndex.Name("Marchand", 5), new ContactNameIndex.Name("Martin", 2));
+        assertThat(index.lookup("", 1)).containsExactly(new ContactNameIndex.Name("Durand", 7));
+        assertThat(index.lookup("x", 10)).isEmpty();
+    }
+
+    @Test
+    void addMergesNamesIgnoringCase() {
+        ContactNameIndex index = new ContactNameIndex(10);
+        index.add(" Martin", 1);
+        index.add("MARTIN ", 2);
+        index.add(null, 1);
+        index.add("  ", 1);
+
+        assertThat(index.lookup("martin", 10)).containsExactly(new ContactNameIndex.Name("Martin", 3));
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void addKeepsCachedLookupsUpToDate() {
+        ContactNameIndex index = new ContactNameIndex(2);
+        index.add("Martin", 3);
+        index.add("Marchand", 2);
+        assertThat(index.lookup("M", 2))
+            .containsExactly(new ContactNameIndex.Name("Martin", 3), new ContactNameIndex.Name("Marchand", 2));
+
+        index.add("Mercier", 4);
+        index.add("Marchand", 2);
+
+        assertThat(index.lookup("M", 2))
+            .containsExactly(new ContactNameIndex.Name("Marchand", 4), new ContactNameIndex.Name("Mercier", 4));
+    }
+
+    @Test
+    void removeRecomputesCachedLookups() {
+        ContactNameIndex index = new ContactNameIndex(1);
+        index.add("Martin", 3);
+        index.add("Marchand", 2);
+        assertThat(index.lookup("Mar", 1)).containsExactly(new ContactNameIndex.Name("Martin", 3));
+
+        index.remove("martin", 2);
+
+        assertThat(index.lookup("Mar", 1)).containsExactly(new ContactNameIndex.Name("Marchand", 2));
+    }
+
+    @Test
+    void removeRepairsCachedLookupsFromTheChildren() {
+        ContactNameIndex index = new ContactNameIndex(2);
+        index.add("Martin", 5);
+        index.add("Martinez", 4);
+        index.add("Marchand", 3);
+        index.add("Mercier", 2);
+        index.add("Durand", 1);
+        assertThat(index.lookup("", 2))
+            .containsExactly(new ContactNameIndex.Name("Martin", 5), new ContactNameIndex.Name("Martinez", 4));
+
+        index.remove("Martin", 5);
+        index.remove("Martinez", 3);
+
+        // The names beyond the caches of the ancestors are found in the caches of their other children
+        assertThat(index.lookup("", 2))
+            .containsExactly(new ContactNameIndex.Name("Marchand", 3), new ContactNameIndex.Name("Mercier", 2));
+        assertThat(index.lookup("Mar", 2))
+            .containsExactly(new ContactNameIndex.Name("Marchand", 3), new ContactNameIndex.Name("Martinez", 1));
+        assertThat(index.lookup("Martin", 2)).containsExactly(new ContactNameIndex.Name("Martinez", 1));
+    }
+
+    @Test
+    void removeReleasesUnusedNodes() {
+        ContactNameIndex index = new ContactNameIndex(10);
+        index.add("Martin", 1);
+        long memory = index.estimatedMemory();
+        index.add("Martinez", 1);
+        assertThat(index.estimatedMemory()).isGreaterThan(memory);
+
+        index.remove("Martinez", 1);
+        index.remove("Unknown", 1);
+
+        assertThat(index.estimatedMemory()).isEqualTo(memory);
+        assertThat(index.lookup("Martine", 10)).isEmpty();
+        assertThat(index.lookup("Martin", 10)).containsExactly(new ContactNameIndex.Name("Martin", 1));
+    }
+}
@@ -0,0 +1,102 @@
+package com.givaudan.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.givaudan.config.ApplicationProperties;
+import com.givaudan.service.criteria.ContactCriteria;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import tech.jhipster.service.filter.IntegerFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+class ContactQueryCacheTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry meterRegistry;
+
+    private ContactQueryCache contactQueryCache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        contactQueryCache = new ContactQueryCache(applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void getServesCachedResultsByCriteriaAndPage() {
+        assertThat(count(nomContains("mar"), PageRequest.of(0, 20))).isEqualTo(1);
+        assertThat(count(nomContains("mar"), PageRequest.of(0, 20))).isEqualTo(1);
+        assertThat(count(nomContains("mar"), PageRequest.of(1, 20))).isEqualTo(2);
+        assertThat(count(nomContains("dur"), PageRequest.of(0, 20))).isEqualTo(3);
+        assertThat(count(nomContains("dur"), null)).isEqualTo(4);
+
+        assertThat(gets("find", "nom:contains", "hit")).isEqualTo(1);
+        assertThat(gets("find", "nom:contains", "miss")).isEqualTo(3);
+        assertThat(gets("count", "nom:contains", "miss")).isEqualTo(1);
+    }
+
+    @Test
+    void invalidateStartsANewGeneration() {
+        assertThat(count(nomContains("mar"), null)).isEqualTo(1);
+
+        contactQueryCache.invalidate();
+
+        assertThat(count(nomContains("mar"), null)).isEqualTo(2);
+        assertThat(count(nomContains("mar"), null)).isEqualTo(2);
+    }
+
+    @Test
+    void shapeListsOperatorsAndSort() {
+        ContactCriteria criteria = nomContains("mar");
+        IntegerFilter age = criteria.age();
+        age.setGreaterThan(18);
+        age.setLessThan(65);
+
+        assertThat(ContactQueryCache.shape(criteria, PageRequest.of(0, 20, Sort.by(Sort.Order.desc("age"), Sort.Order.asc("id")))))
+            .isEqualTo("nom:contains,age:greaterThan+lessThan sort:age-,id");
+        assertThat(ContactQueryCache.shape(new ContactCriteria(), null)).isEqualTo("none");
+    }
+
+    @Test
+    void shapesBeyondTheLimitArePublishedAsOther() {
+        applicationProperties.getQueryCache().setMaxShapes(1);
+        contactQueryCache = new ContactQueryCache(applicationProperties, meterRegistry);
+
+        count(nomContains("mar"), null);
+        count(new ContactCriteria(), null);
+
+        assertThat(gets("count", "nom:contains", "miss")).isEqualTo(1);
+        assertThat(gets("count", ContactQueryCache.OTHER_SHAPE, "miss")).isEqualTo(1);
+        assertThat(meterRegistry.find(ContactQueryCache.GETS_METER_NAME).tag("shape", "none").counter()).isNull();
+    }
+
+    private int count(ContactCriteria criteria, PageRequest page) {
+        return contactQueryCache.get(page == null ? "count" : "find", criteria, page, loads::incrementAndGet);
+    }
+
+    private double gets(String query, String shape, String result) {
+        return meterRegistry
+            .get(ContactQueryCache.GETS_METER_NAME)
+            .tag("query", query)
+            .tag("shape", shape)
+            .tag("result", result)
+            .counter()
+            .count();
+    }
+
+    private static ContactCriteria nomContains(String value) {
+        ContactCriteria criteria = new ContactCriteria();
+        StringFilter nom = criteria.nom();
+        nom.setContains(value);
+        return criteria;
+    }
+}
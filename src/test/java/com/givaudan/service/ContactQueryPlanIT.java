@@ -0,0 +1,358 @@
+package com.givaudan.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.givaudan.IntegrationTest;
+import com.givaudan.service.criteria.ContactCriteria;
+import com.givaudan.service.dto.ContactDTO;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Plan regression tests of the queries generated by {@link ContactQueryService} for each filter and sort of the UI.
+ * <p>
+ * Every statement issued for a case is explained with its parameters, and the case fails when its plan scans the contact
+ * table sequentially while it holds more than {@code plan.max-sequential-scan-rows} rows (1000 by default).
+ * The table is filled with {@code plan.rows} contacts (100000 by default), then vacuumed and analyzed, so that the planner
+ * works with realistic statistics.
+ * <p>
+ * The queries which read the whole table whatever its indexes aren't checked: the count of an unfiltered list, and the
+ * negative filters (notEquals, notIn, doesNotContain, specified=true).
+ * <p>
+ * The slices of keyset pagination must also start reading the index of their sort key at their cursor, with an index
+ * condition on this key, rather than filter the rows read from the start of the index.
+ */
+@IntegrationTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ContactQueryPlanIT {
+
+    private static final String NOM_PREFIX = "PLAN ";
+
+    private static final long ROWS = Long.getLong("plan.rows", 100_000);
+
+    private static final long MAX_SEQUENTIAL_SCAN_ROWS = Long.getLong("plan.max-sequential-scan-rows", 1_000);
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20, Sort.by("id"));
+
+    private static final List<RecordedStatement> recordedStatements = Collections.synchronizedList(new ArrayList<>());
+
+    private static volatile boolean recording;
+
+    @Autowired
+    private ContactQueryService contactQueryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Map<String, Object> sample;
+
+    private long lastIdBefore;
+
+    @BeforeAll
+    public void init() {
+        lastIdBefore = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from contact", Long.class);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            jdbcTemplate.update(
+                "insert into contact (id, nom, prenom, age, address, codepostal) " +
+                "select nextval('sequence_generator'), " +
+                "case when i % 1000 = 0 then null else '" +
+                NOM_PREFIX +
+                "' || (array['Martin','Bernard','Dubois','Thomas','Robert','Richard','Petit','Durand'])[1 + i % 8] || ' ' || " +
+                "substr(md5(i::text), 1, 8) end, " +
+                "case when i % 1000 = 1 then null else " +
+                "(array['Jean','Marie','Pierre','Anne','Louis','Claire','Paul','Julie'])[1 + i / 8 % 8] || ' ' || " +
+                "substr(md5((i * 3)::text), 1, 8) end, " +
+                "case when i % 1000 = 2 then null else i % 100 end, " +
+                "case when i % 1000 = 3 then null else " +
+                "(i % 300) || ' rue ' || (array['de la Paix','Victor Hugo','du Moulin','des Lilas'])[1 + i % 4] || ' ' || " +
+                "substr(md5((i * 7)::text), 1, 8) end, " +
+                "case when i % 1000 = 4 then null else 10000 + i % 90000 end " +
+                "from generate_series(1, ?::int) as i",
+                ROWS
+            )
+        );
+        // Vacuum sets the visibility map used by index-only scans, and can't run in a transaction
+        jdbcTemplate.execute(
+            (ConnectionCallback<Void>) connection -> {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(true);
+                try (var statement = connection.createStatement()) {
+                    statement.execute("vacuum analyze contact");
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+                return null;
+            }
+        );
+        sample =
+            jdbcTemplate.queryForMap(
+                "select * from contact where nom like ? and prenom is not null and address is not null order by id offset ? limit 1",
+                NOM_PREFIX + "%",
+                ROWS / 2
+            );
+    }
+
+    @AfterAll
+    public void destroy() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            jdbcTemplate.update("delete from contact where id > ?", lastIdBefore)
+        );
+    }
+
+    Stream<Arguments> filters() {
+        return Stream.of(
+            filter("id.equals", criteria -> criteria.id().setEquals(sampleLong("id"))),
+            filter("nom.equals", criteria -> criteria.nom().setEquals(sampleString("nom"))),
+            filter("nom.in", criteria -> criteria.nom().setIn(List.of(sampleString("nom"), "Unknown"))),
+            filter("nom.specified", criteria -> criteria.nom().setSpecified(false)),
+            filter("nom.contains", criteria -> criteria.nom().setContains(sampleString("nom").substring(NOM_PREFIX.length() + 2))),
+            filter("prenom.equals", criteria -> criteria.prenom().setEquals(sampleString("prenom"))),
+            filter("prenom.in", criteria -> criteria.prenom().setIn(List.of(sampleString("prenom"), "Unknown"))),
+            filter("prenom.specified", criteria -> criteria.prenom().setSpecified(false)),
+            filter("prenom.contains", criteria -> criteria.prenom().setContains(lastWord(sampleString("prenom")))),
+            filter("age.equals", criteria -> criteria.age().setEquals(sampleInteger("age"))),
+            filter("age.in", criteria -> criteria.age().setIn(List.of(sampleInteger("age"), -1))),
+            filter("age.specified", criteria -> criteria.age().setSpecified(false)),
+            filter("age.greaterThan", criteria -> criteria.age().setGreaterThan(98)),
+            filter("age.lessThan", criteria -> criteria.age().setLessThan(1)),
+            filter("address.equals", criteria -> criteria.address().setEquals(sampleString("address"))),
+            filter("address.in", criteria -> criteria.address().setIn(List.of(sampleString("address"), "Unknown"))),
+            filter("address.specified", criteria -> criteria.address().setSpecified(false)),
+            filter("address.contains", criteria -> criteria.address().setContains(lastWord(sampleString("address")))),
+            filter("codepostal.equals", criteria -> criteria.codepostal().setEquals(sampleInteger("codepostal"))),
+            filter("codepostal.in", criteria -> criteria.codepostal().setIn(List.of(sampleInteger("codepostal"), -1))),
+            filter("codepostal.specified", criteria -> criteria.codepostal().setSpecified(false)),
+            filter("codepostal.greaterThanOrEqual", criteria -> criteria.codepostal().setGreaterThanOrEqual(99_990)),
+            filter("codepostal.lessThanOrEqual", criteria -> criteria.codepostal().setLessThanOrEqual(10_010))
+        );
+    }
+
+    static Stream<Arguments> sorts() {
+        return Stream
+            .of("id", "nom", "prenom", "age", "address", "codepostal")
+            .flatMap(property -> Stream.of(Sort.by(Sort.Direction.ASC, property), Sort.by(Sort.Direction.DESC, property)))
+            .map(Arguments::of);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filters")
+    @Transactional
+    void filterIsServedByAnIndex(String name, Consumer<ContactCriteria> filter) throws Exception {
+        ContactCriteria criteria = new ContactCriteria();
+        filter.accept(criteria);
+
+        List<RecordedStatement> statements = record(() -> {
+            contactQueryService.findByCriteria(criteria, FIRST_PAGE);
+            contactQueryService.countByCriteria(criteria);
+        });
+
+        assertNoSequentialScan(statements, false);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("sorts")
+    @Transactional
+    void sortIsServedByAnIndex(Sort sort) throws Exception {
+        List<RecordedStatement> statements = record(() -> {
+            contactQueryService.findByCriteria(new ContactCriteria(), PageRequest.of(1, 20, sort));
+            List<ContactDTO> firstSlice = contactQueryService.findByCriteriaAfter(null, null, PageRequest.of(0, 20, sort)).getContent();
+            String after = ContactCursor.after(ContactCursor.keysetSort(sort), firstSlice.get(firstSlice.size() - 1)).encode();
+            contactQueryService.findByCriteriaAfter(null, after, PageRequest.of(0, 20, sort));
+        });
+
+        assertNoSequentialScan(statements, true);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("sorts")
+    @Transactional
+    void keysetSliceIsBoundedByTheIndexOfItsSortKey(Sort sort) throws Exception {
+        List<ContactDTO> firstSlice = contactQueryService.findByCriteriaAfter(null, null, PageRequest.of(0, 20, sort)).getContent();
+        String after = ContactCursor.after(ContactCursor.keysetSort(sort), firstSlice.get(firstSlice.size() - 1)).encode();
+        String column = sort.iterator().next().getProperty();
+
+        List<RecordedStatement> statements = record(() ->
+            contactQueryService.findByCriteriaAfter(null, after, PageRequest.of(0, 20, sort))
+        );
+
+        assertThat(statements).isNotEmpty();
+        JsonNode plan = explain(statements.get(0));
+        assertThat(indexConditions(plan.get(0).get("Plan"), new ArrayList<>()))
+            .as("Index conditions of %s, planned as %s", statements.get(0).sql(), plan.toPrettyString())
+            .anyMatch(condition -> condition.contains(column));
+    }
+
+    private void assertNoSequentialScan(List<RecordedStatement> statements, boolean skipCounts) throws Exception {
+        assertThat(statements).isNotEmpty();
+        for (RecordedStatement statement : statements) {
+            if (skipCounts && statement.sql().toLowerCase(Locale.ROOT).startsWith("select count(")) {
+                continue;
+            }
+            JsonNode plan = explain(statement);
+            assertThat(sequentialScans(plan.get(0).get("Plan"), new ArrayList<>()))
+                .as("Sequential scans of %s, planned as %s", statement.sql(), plan.toPrettyString())
+                .isEmpty();
+        }
+    }
+
+    private JsonNode explain(RecordedStatement statement) throws Exception {
+        String plan = jdbcTemplate.query(
+            "explain (format json) " + statement.sql(),
+            preparedStatement -> {
+                for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+                    preparedStatement.setObject(parameter.getKey(), parameter.getValue());
+                }
+            },
+            resultSet -> resultSet.next() ? resultSet.getString(1) : null
+        );
+        return objectMapper.readTree(plan);
+    }
+
+    /**
+     * @return the relations larger than the threshold which are scanned sequentially by the plan.
+     */
+    private List<String> sequentialScans(JsonNode plan, List<String> scans) {
+        if ("Seq Scan".equals(plan.path("Node Type").asText())) {
+            String relation = plan.path("Relation Name").asText();
+            Double rows = jdbcTemplate.queryForObject("select reltuples::float8 from pg_class where relname = ?", Double.class, relation);
+            if (rows != null && rows > MAX_SEQUENTIAL_SCAN_ROWS) {
+                scans.add(relation + " (" + rows.longValue() + " rows)");
+            }
+        }
+        for (JsonNode child : plan.path("Plans")) {
+            sequentialScans(child, scans);
+        }
+        return scans;
+    }
+
+    /**
+     * @return the conditions of the index scans of the plan, which bound the part of the index they read.
+     */
+    private List<String> indexConditions(JsonNode plan, List<String> conditions) {
+        if (plan.has("Index Cond")) {
+            conditions.add(plan.get("Index Cond").asText());
+        }
+        for (JsonNode child : plan.path("Plans")) {
+            indexConditions(child, conditions);
+        }
+        return conditions;
+    }
+
+    private List<RecordedStatement> record(Runnable queries) {
+        recordedStatements.clear();
+        recording = true;
+        try {
+            queries.run();
+        } finally {
+            recording = false;
+        }
+        return new ArrayList<>(recordedStatements);
+    }
+
+    private Arguments filter(String name, Consumer<ContactCriteria> filter) {
+        return Arguments.of(name, filter);
+    }
+
+    private Long sampleLong(String column) {
+        return ((Number) sample.get(column)).longValue();
+    }
+
+    private Integer sampleInteger(String column) {
+        return ((Number) sample.get(column)).intValue();
+    }
+
+    private String sampleString(String column) {
+        return (String) sample.get(column);
+    }
+
+    private static String lastWord(String value) {
+        return value.substring(value.lastIndexOf(' ') + 1);
+    }
+
+    private record RecordedStatement(String sql, Map<Integer, Object> parameters) {}
+
+    /**
+     * Records the prepared statements executed while {@link #recording}, with their parameters.
+     */
+    @TestConfiguration
+    static class StatementRecorderConfiguration {
+
+        @Bean
+        static BeanPostProcessor statementRecorder() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? recordingProxy(DataSource.class, dataSource, null) : bean;
+                }
+            };
+        }
+
+        private static <T> T recordingProxy(Class<T> type, T target, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            Object proxy = Proxy.newProxyInstance(
+                ContactQueryPlanIT.class.getClassLoader(),
+                new Class<?>[] { type },
+                (instance, method, args) -> {
+                    if (sql != null && method.getName().startsWith("set") && args != null && args.length >= 2) {
+                        if (args[0] instanceof Integer index) {
+                            parameters.put(index, method.getName().equals("setNull") ? null : args[1]);
+                        }
+                    }
+                    if (sql != null && method.getName().startsWith("execute") && recording) {
+                        recordedStatements.add(new RecordedStatement(sql, new TreeMap<>(parameters)));
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (result instanceof Connection connection && method.getName().equals("getConnection")) {
+                        return recordingProxy(Connection.class, connection, null);
+                    }
+                    if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                        return recordingProxy(PreparedStatement.class, statement, (String) args[0]);
+                    }
+                    return result;
+                }
+            );
+            return type.cast(proxy);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.givaudan.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.givaudan.IntegrationTest;
+import com.givaudan.service.criteria.ContactCriteria;
+import com.givaudan.service.dto.ContactDTO;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Benchmark of the contains filters of {@link ContactQueryService}, with and without the trigram indexes.
+ * <p>
+ * It only runs when the number of contacts to generate is given, for instance to measure at 10 million rows:
+ * {@code ./mvnw verify -Dit.test=ContactQueryServiceBenchmarkIT -Dbenchmark.contact.rows=10000000}.
+ * The "before" measures disable bitmap scans, the only way PostgreSQL uses a GIN index, which gives the sequential
+ * scans of a table without the trigram indexes.
+ */
+@IntegrationTest
+@EnabledIfSystemProperty(named = "benchmark.contact.rows", matches = "\\d+")
+class ContactQueryServiceBenchmarkIT {
+
+    private static final String NOM_PREFIX = "BENCH ";
+
+    private static final int WARMUP_ITERATIONS = 5;
+
+    private static final int ITERATIONS = 100;
+
+    private final Logger log = LoggerFactory.getLogger(ContactQueryServiceBenchmarkIT.class);
+
+    @Autowired
+    private ContactQueryService contactQueryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    @Timeout(value = 2, unit = TimeUnit.HOURS)
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        long rows = Long.getLong("benchmark.contact.rows");
+        log.info("Generating {} Contacts", rows);
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.update(
+                "insert into contact (id, nom, prenom, age, address, codepostal) " +
+                "select nextval('sequence_generator'), " +
+                "'" +
+                NOM_PREFIX +
+                "' || (array['Martin','Bernard','Dubois','Thomas','Robert','Richard','Petit','Durand'])[1 + i % 8] || ' ' || " +
+                "substr(md5(i::text), 1, 8), " +
+                "(array['Jean','Marie','Pierre','Anne','Louis','Claire','Paul','Julie'])[1 + i / 8 % 8], " +
+                "i % 100, " +
+                "(i % 300) || ' rue ' || (array['de la Paix','Victor Hugo','du Moulin','des Lilas'])[1 + i % 4] || ' ' || " +
+                "substr(md5((i * 7)::text), 1, 6), " +
+                "10000 + i % 90000 " +
+                "from generate_series(1, ?::int) as i",
+                rows
+            )
+        );
+        jdbcTemplate.execute("analyze contact");
+    }
+
+    @AfterEach
+    @Timeout(value = 1, unit = TimeUnit.HOURS)
+    public void destroy() {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update("delete from contact where nom like ?", NOM_PREFIX + "%"));
+    }
+
+    @Test
+    @Timeout(value = 1, unit = TimeUnit.HOURS)
+    void containsFilters() {
+        List<Consumer<ContactCriteria>> filters = List.of(
+            criteria -> criteria.nom().setContains("bernard 1a"),
+            criteria -> criteria.prenom().setContains("lair"),
+            criteria -> criteria.address().setContains("victor hugo 3f")
+        );
+        for (Consumer<ContactCriteria> filter : filters) {
+            ContactCriteria criteria = new ContactCriteria();
+            filter.accept(criteria);
+            Page<ContactDTO> before = measure("before", criteria, true);
+            Page<ContactDTO> after = measure("after", criteria, false);
+            assertThat(after.getTotalElements()).isEqualTo(before.getTotalElements());
+            assertThat(after.getContent()).isEqualTo(before.getContent());
+        }
+    }
+
+    private Page<ContactDTO> measure(String name, ContactCriteria criteria, boolean sequentialScan) {
+        return transactionTemplate.execute(status -> {
+            if (sequentialScan) {
+                jdbcTemplate.execute("set local enable_bitmapscan = off");
+            }
+            Page<ContactDTO> page = null;
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                page = contactQueryService.findByCriteria(criteria, PageRequest.of(0, 20, Sort.by("id")));
+            }
+            long[] durations = new long[ITERATIONS];
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                page = contactQueryService.findByCriteria(criteria, PageRequest.of(0, 20, Sort.by("id")));
+                durations[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(durations);
+            log.info(
+                "{} {}: {} matches, p50 {} ms, p99 {} ms",
+                criteria,
+                name,
+                page.getTotalElements(),
+                durations[ITERATIONS / 2] / 1_000_000d,
+                durations[ITERATIONS * 99 / 100 - 1] / 1_000_000d
+            );
+            return page;
+        });
+    }
+}
@@ -0,0 +1,170 @@
+package com.givaudan.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import com.givaudan.IntegrationTest;
+import com.givaudan.domain.Contact;
+import com.givaudan.repository.ContactRepository;
+import com.givaudan.service.criteria.ContactCriteria;
+import com.givaudan.service.dto.ContactDTO;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.jhipster.service.filter.LongFilter;
+
+/**
+ * Integration tests of the counts of {@link ContactQueryService} run in parallel with their page, which need a second
+ * connection.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "application.count.parallel=true",
+        "application.count.parallel-timeout-millis=100",
+        "spring.datasource.hikari.maximum-pool-size=" + ContactQueryServiceParallelIT.POOL_SIZE,
+        "spring.datasource.hikari.connection-timeout=10000",
+    }
+)
+class ContactQueryServiceParallelIT {
+
+    static final int POOL_SIZE = 4;
+
+    @Autowired
+    private ContactQueryService contactQueryService;
+
+    @SpyBean
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private List<Contact> contacts;
+
+    @BeforeEach
+    public void init() {
+        contacts =
+            contactRepository.saveAllAndFlush(
+                List.of(new Contact().nom("PARALLEL 1"), new Contact().nom("PARALLEL 2"), new Contact().nom("PARALLEL 3"))
+            );
+    }
+
+    @AfterEach
+    public void destroy() {
+        contactRepository.deleteAll(contacts);
+    }
+
+    @Test
+    void findByCriteriaCountsInParallel() {
+        Page<ContactDTO> page = contactQueryService.findByCriteria(criteria(), PageRequest.of(0, 2, Sort.by("id")));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(ContactDTO::getNom).containsExactly("PARALLEL 1", "PARALLEL 2");
+    }
+
+    @Test
+    void findByCriteriaCountsSequentiallyInAnOuterTransaction() {
+        Page<ContactDTO> page = new TransactionTemplate(transactionManager).execute(status ->
+            contactQueryService.findByCriteria(criteria(), PageRequest.of(1, 2, Sort.by("id")))
+        );
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(ContactDTO::getNom).containsExactly("PARALLEL 3");
+    }
+
+    @Test
+    void findByCriteriaDoesNotWaitForConnectionsHeldByOtherPages() throws Exception {
+        int requests = POOL_SIZE * 2;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        try {
+            List<Future<Page<ContactDTO>>> pages = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                // Distinct page sizes, for the pages not to be shared by the query cache
+                PageRequest page = PageRequest.of(0, i + 1, Sort.by("id"));
+                pages.add(
+                    executor.submit(() -> {
+                        start.await();
+                        return contactQueryService.findByCriteria(criteria(), page);
+                    })
+                );
+            }
+            start.countDown();
+
+            for (Future<Page<ContactDTO>> page : pages) {
+                // Well before the connection timeout, which a count waiting for a connection held by its page would reach
+                assertThat(page.get(5, TimeUnit.SECONDS).getTotalElements()).isEqualTo(3);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void findByCriteriaReleasesTheConnectionOfATimedOutCount() throws Exception {
+        // The parallel counts sleep far longer than their timeout, which only a statement cancelled by the database stops
+        doAnswer(invocation -> {
+                if (Thread.currentThread().getName().startsWith("contact-count-")) {
+                    try {
+                        em.createNativeQuery("select pg_sleep(30)").getSingleResult();
+                    } catch (RuntimeException e) {
+                        throw EntityManagerFactoryUtils.convertJpaAccessExceptionIfPossible(e);
+                    }
+                }
+                return invocation.callRealMethod();
+            })
+            .when(contactRepository)
+            .count(any(Specification.class));
+
+        long start = System.nanoTime();
+        Page<ContactDTO> page = contactQueryService.findByCriteria(criteria(), PageRequest.of(0, 2, Sort.by("id")));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        long deadline = start + TimeUnit.SECONDS.toNanos(5);
+        assertThat(System.nanoTime()).isLessThan(deadline);
+        while (sleepingStatements() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(sleepingStatements()).isZero();
+    }
+
+    private int sleepingStatements() {
+        return jdbcTemplate.queryForObject(
+            "select count(*) from pg_stat_activity where state = 'active' and query like 'select pg_sleep%'",
+            Integer.class
+        );
+    }
+
+    private ContactCriteria criteria() {
+        ContactCriteria criteria = new ContactCriteria();
+        LongFilter id = criteria.id();
+        id.setIn(contacts.stream().map(Contact::getId).toList());
+        return criteria;
+    }
+}
@@ -0,0 +1,87 @@
+package com.givaudan.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.givaudan.repository.ContactRepository;
+import com.givaudan.service.dto.ContactDTO;
+import com.givaudan.service.dto.ContactSuggestionDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class ContactSuggestionServiceTest {
+
+    private ContactRepository contactRepository;
+
+    private ContactSuggestionService contactSuggestionService;
+
+    @BeforeEach
+    void setUp() {
+        contactRepository = mock(ContactRepository.class);
+        contactSuggestionService =
+            new ContactSuggestionService(contactRepository, mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+        when(contactRepository.countByPrenom()).thenAnswer(invocation -> Stream.empty());
+    }
+
+    @Test
+    void rebuildReplaysTheChangesAppliedWhileReadingTheDatabase() {
+        when(contactRepository.countByNom())
+            .thenAnswer(invocation -> {
+                // Committed after the snapshot of the rebuild was taken
+                contactSuggestionService.update(null, contact("Martin"));
+                return Stream.of(nameCount("Durand", 2));
+            });
+
+        contactSuggestionService.rebuild();
+
+        assertThat(contactSuggestionService.suggest("", 10))
+            .extracting(ContactSuggestionDTO::getValue, ContactSuggestionDTO::getCount)
+            .containsExactly(tuple("Durand", 2L), tuple("Martin", 1L));
+    }
+
+    @Test
+    void rebuildRequestedWhileRunningRunsOnceMoreWithoutWaiting() {
+        AtomicInteger reads = new AtomicInteger();
+        when(contactRepository.countByNom())
+            .thenAnswer(invocation -> {
+                if (reads.incrementAndGet() == 1) {
+                    // Returns at once, leaving the running rebuild to start over
+                    contactSuggestionService.rebuild();
+                }
+                return Stream.of(nameCount("Durand", reads.get()));
+            });
+
+        contactSuggestionService.rebuild();
+
+        verify(contactRepository, times(2)).countByNom();
+        assertThat(contactSuggestionService.suggest("dur", 10)).extracting(ContactSuggestionDTO::getCount).containsExactly(2L);
+    }
+
+    private static ContactDTO contact(String nom) {
+        ContactDTO contact = new ContactDTO();
+        contact.setNom(nom);
+        return contact;
+    }
+
+    private static ContactRepository.NameCount nameCount(String name, long total) {
+        return new ContactRepository.NameCount() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
+}
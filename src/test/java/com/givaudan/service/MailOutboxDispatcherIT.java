@@ -0,0 +1,196 @@
+package com.givaudan.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.givaudan.IntegrationTest;
+import com.givaudan.config.ApplicationProperties;
+import com.givaudan.domain.OutgoingMail;
+import com.givaudan.repository.OutgoingMailRepository;
+import com.givaudan.repository.UserRepository;
+import com.givaudan.service.dto.AdminUserDTO;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link MailOutboxDispatcher}, delivering to a local SMTP server.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = { "spring.mail.port=" + MailOutboxDispatcherIT.SMTP_PORT, "spring.datasource.hikari.maximum-pool-size=2" }
+)
+class MailOutboxDispatcherIT {
+
+    static final int SMTP_PORT = 3025;
+
+    private static final String LOGIN = "outbox-user";
+
+    private static final String EMAIL = "outbox-user@localhost";
+
+    @RegisterExtension
+    static final GreenMailExtension smtpServer = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private MailOutboxDispatcher mailOutboxDispatcher;
+
+    @Autowired
+    private MailService mailService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutgoingMailRepository outgoingMailRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        outgoingMailRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outgoingMailRepository.deleteAll();
+        userRepository.findOneByLogin(LOGIN).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void registeredUserReceivesTheActivationEmail() throws Exception {
+        double sent = mails("sent");
+
+        userService.registerUser(user(), "password");
+        assertThat(outgoingMailRepository.count()).isEqualTo(1);
+        assertThat(smtpServer.getReceivedMessages()).isEmpty();
+
+        mailOutboxDispatcher.dispatch();
+
+        assertThat(smtpServer.waitForIncomingEmail(5000, 1)).isTrue();
+        MimeMessage message = smtpServer.getReceivedMessages()[0];
+        assertThat(message.getAllRecipients()[0]).hasToString(EMAIL);
+        assertThat(message.getContent().toString()).contains(userRepository.findOneByLogin(LOGIN).orElseThrow().getActivationKey());
+        assertThat(outgoingMailRepository.count()).isZero();
+        assertThat(mails("sent")).isEqualTo(sent + 1);
+        assertThat(meterRegistry.get("mail.outbox.delay").timer().count()).isPositive();
+        assertThat(meterRegistry.get("mail.outbox.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void rolledBackRegistrationSendsNoEmail() {
+        transaction.executeWithoutResult(status -> {
+            userService.registerUser(user(), "password");
+            status.setRollbackOnly();
+        });
+
+        mailOutboxDispatcher.dispatch();
+
+        assertThat(outgoingMailRepository.count()).isZero();
+        assertThat(smtpServer.getReceivedMessages()).isEmpty();
+    }
+
+    @Test
+    void undeliveredEmailIsRetriedLater() {
+        double retried = mails("retried");
+        mailService.queueEmail(EMAIL, "testSubject", "testContent", false, false);
+        smtpServer.stop();
+
+        Instant dispatched = Instant.now();
+        mailOutboxDispatcher.dispatch();
+
+        OutgoingMail mail = outgoingMailRepository.findAll().get(0);
+        assertThat(mail.getStatus()).isEqualTo(OutgoingMail.Status.PENDING);
+        assertThat(mail.getAttempts()).isEqualTo(1);
+        assertThat(mail.getLastError()).isNotBlank();
+        assertThat(mail.getNextAttemptDate())
+            .isAfterOrEqualTo(dispatched.plusSeconds(applicationProperties.getMailOutbox().getInitialBackoffSeconds()));
+        assertThat(mails("retried")).isEqualTo(retried + 1);
+        assertThat(meterRegistry.get("mail.outbox.pending").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("mail.outbox.lag").gauge().value()).isPositive();
+
+        // Not due before its backoff
+        mailOutboxDispatcher.dispatch();
+
+        assertThat(outgoingMailRepository.findAll().get(0).getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void emailIsKeptAsFailedAfterTheMaximumNumberOfAttempts() {
+        mailService.queueEmail(EMAIL, "testSubject", "testContent", false, false);
+        smtpServer.stop();
+
+        for (int attempt = 1; attempt <= applicationProperties.getMailOutbox().getMaxAttempts(); attempt++) {
+            transaction.executeWithoutResult(status -> outgoingMailRepository.findAll().get(0).setNextAttemptDate(Instant.now()));
+            mailOutboxDispatcher.dispatch();
+        }
+
+        OutgoingMail mail = outgoingMailRepository.findAll().get(0);
+        assertThat(mail.getStatus()).isEqualTo(OutgoingMail.Status.FAILED);
+        assertThat(mail.getAttempts()).isEqualTo(applicationProperties.getMailOutbox().getMaxAttempts());
+        assertThat(meterRegistry.get("mail.outbox.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void claimedEmailsAreSkippedByTheOtherDispatchers() throws Exception {
+        mailService.queueEmail(EMAIL, "testSubject", "testContent", false, false);
+        mailService.queueEmail(EMAIL, "testSubject", "testContent", false, false);
+
+        List<List<OutgoingMail>> claims = transaction.execute(status -> {
+            List<OutgoingMail> first = outgoingMailRepository.claimDue(Instant.now(), 1);
+            // Claimed on another connection, while the first claim holds its lock
+            List<OutgoingMail> second = CompletableFuture
+                .supplyAsync(() -> transaction.execute(other -> outgoingMailRepository.claimDue(Instant.now(), 10)))
+                .join();
+            return List.of(first, second);
+        });
+
+        assertThat(claims.get(0)).hasSize(1);
+        assertThat(claims.get(1)).hasSize(1).doesNotContainAnyElementsOf(claims.get(0));
+    }
+
+    @Test
+    void backoffDoublesUpToTheMaximum() {
+        ApplicationProperties.MailOutbox properties = applicationProperties.getMailOutbox();
+        assertThat(mailOutboxDispatcher.backoff(1)).isEqualTo(Duration.ofSeconds(properties.getInitialBackoffSeconds()));
+        assertThat(mailOutboxDispatcher.backoff(2)).isEqualTo(Duration.ofSeconds(2 * properties.getInitialBackoffSeconds()));
+        assertThat(mailOutboxDispatcher.backoff(3)).isEqualTo(Duration.ofSeconds(4 * properties.getInitialBackoffSeconds()));
+        assertThat(mailOutboxDispatcher.backoff(100)).isEqualTo(Duration.ofSeconds(properties.getMaxBackoffSeconds()));
+    }
+
+    private AdminUserDTO user() {
+        AdminUserDTO user = new AdminUserDTO();
+        user.setLogin(LOGIN);
+        user.setEmail(EMAIL);
+        user.setLangKey("en");
+        return user;
+    }
+
+    private double mails(String outcome) {
+        return meterRegistry.get(MailOutboxDispatcher.MAILS_METER_NAME).tag("outcome", outcome).counter().count();
+    }
+}
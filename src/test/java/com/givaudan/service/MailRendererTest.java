@@ -0,0 +1,120 @@
+package com.givaudan.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.givaudan.config.ApplicationProperties;
+import com.givaudan.config.Constants;
+import com.givaudan.domain.User;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import tech.jhipster.config.JHipsterProperties;
+
+class MailRendererTest {
+
+    /**
+     * The codes of the messages resolved.
+     */
+    private final List<String> resolved = new CopyOnWriteArrayList<>();
+
+    private MailRenderer mailRenderer;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ResourceBundleMessageSource messages = new ResourceBundleMessageSource();
+        messages.setBasename("i18n/messages");
+        messages.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        MessageSource messageSource = new MessageSource() {
+            @Override
+            public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+                resolved.add(code);
+                return messages.getMessage(code, args, defaultMessage, locale);
+            }
+
+            @Override
+            public String getMessage(String code, Object[] args, Locale locale) {
+                resolved.add(code);
+                return messages.getMessage(code, args, locale);
+            }
+
+            @Override
+            public String getMessage(MessageSourceResolvable resolvable, Locale locale) {
+                return messages.getMessage(resolvable, locale);
+            }
+        };
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setBaseUrl("http://127.0.0.1:8080");
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getMailTemplates().setLanguages(List.of("fr"));
+        mailRenderer = new MailRenderer(jHipsterProperties, applicationProperties, messageSource, templateEngine);
+
+        user = new User();
+        user.setLogin("john");
+        user.setLangKey(Constants.DEFAULT_LANGUAGE);
+    }
+
+    @Test
+    void rendersTheTemplateInTheLanguageOfTheUser() {
+        MailRenderer.RenderedMail mail = mailRenderer.render(user, "mail/testEmail", "email.test.title");
+
+        assertThat(mail.subject()).isEqualTo("test title");
+        assertThat(mail.content()).isEqualToNormalizingNewlines("<html>test title, http://127.0.0.1:8080, john</html>\n");
+    }
+
+    @Test
+    void resolvesEachSubjectOnce() {
+        // The subject is not one of the messages of the template
+        for (int i = 0; i < 3; i++) {
+            user.setLogin("john" + i);
+            MailRenderer.RenderedMail mail = mailRenderer.render(user, "mail/testEmail", "email.activation.title");
+            assertThat(mail.content()).contains("john" + i);
+        }
+
+        assertThat(resolved).containsOnlyOnce("email.activation.title");
+    }
+
+    @Test
+    void rendersUsersWithoutLanguageInTheDefaultLanguage() {
+        user.setLangKey(null);
+
+        assertThat(mailRenderer.render(user, "mail/testEmail", "email.test.title").subject()).isEqualTo("test title");
+    }
+
+    @Test
+    void precompilesTheMailTemplates() {
+        mailRenderer.precompile();
+        resolved.clear();
+
+        mailRenderer.render(user, "mail/testEmail", MailService.PASSWORD_RESET_TITLE_KEY);
+        assertThat(resolved).doesNotContain(MailService.PASSWORD_RESET_TITLE_KEY);
+    }
+
+    @Test
+    void precompilesTheMailTemplatesInEachConfiguredLanguage() {
+        mailRenderer.precompile();
+        resolved.clear();
+
+        user.setLangKey("fr");
+        mailRenderer.render(user, "mail/testEmail", MailService.ACTIVATION_TITLE_KEY);
+        assertThat(resolved).doesNotContain(MailService.ACTIVATION_TITLE_KEY);
+    }
+}
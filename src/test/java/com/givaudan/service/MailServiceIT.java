@@ -7,6 +7,7 @@ import static org.mockito.Mockito.*;
 import com.givaudan.IntegrationTest;
 import com.givaudan.config.Constants;
 import com.givaudan.domain.User;
+import com.givaudan.repository.OutgoingMailRepository;
 import jakarta.mail.Multipart;
 import jakarta.mail.Session;
 import jakarta.mail.internet.MimeBodyPart;
@@ -56,8 +57,15 @@ class MailServiceIT {
     @Autowired
     private MailService mailService;
 
+    @Autowired
+    private MailOutboxDispatcher mailOutboxDispatcher;
+
+    @Autowired
+    private OutgoingMailRepository outgoingMailRepository;
+
     @BeforeEach
     public void setup() {
+        outgoingMailRepository.deleteAll();
         doNothing().when(javaMailSender).send(any(MimeMessage.class));
         when(javaMailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
     }
@@ -129,7 +137,10 @@ class MailServiceIT {
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
         mailService.sendEmailFromTemplate(user, "mail/testEmail", "email.test.title");
-        verify(javaMailSender).send(messageCaptor.capture());
+        assertThat(outgoingMailRepository.count()).isEqualTo(1);
+        mailOutboxDispatcher.dispatch();
+        assertThat(outgoingMailRepository.count()).isZero();
+        verify(javaMailSender).send(new MimeMessage[] { messageCaptor.capture() });
         MimeMessage message = messageCaptor.getValue();
         assertThat(message.getSubject()).isEqualTo("test title");
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
@@ -145,7 +156,8 @@ class MailServiceIT {
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
         mailService.sendActivationEmail(user);
-        verify(javaMailSender).send(messageCaptor.capture());
+        mailOutboxDispatcher.dispatch();
+        verify(javaMailSender).send(new MimeMessage[] { messageCaptor.capture() });
         MimeMessage message = messageCaptor.getValue();
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
@@ -160,7 +172,8 @@ class MailServiceIT {
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
         mailService.sendCreationEmail(user);
-        verify(javaMailSender).send(messageCaptor.capture());
+        mailOutboxDispatcher.dispatch();
+        verify(javaMailSender).send(new MimeMessage[] { messageCaptor.capture() });
         MimeMessage message = messageCaptor.getValue();
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
@@ -175,7 +188,8 @@ class MailServiceIT {
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
         mailService.sendPasswordResetMail(user);
-        verify(javaMailSender).send(messageCaptor.capture());
+        mailOutboxDispatcher.dispatch();
+        verify(javaMailSender).send(new MimeMessage[] { messageCaptor.capture() });
         MimeMessage message = messageCaptor.getValue();
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
@@ -201,7 +215,8 @@ class MailServiceIT {
         for (String langKey : languages) {
             user.setLangKey(langKey);
             mailService.sendEmailFromTemplate(user, "mail/testEmail", "email.test.title");
-            verify(javaMailSender, atLeastOnce()).send(messageCaptor.capture());
+            mailOutboxDispatcher.dispatch();
+            verify(javaMailSender, atLeastOnce()).send(new MimeMessage[] { messageCaptor.capture() });
             MimeMessage message = messageCaptor.getValue();
 
             String propertyFilePath = "i18n/messages_" + getMessageSourceSuffixForLanguage(langKey) + ".properties";
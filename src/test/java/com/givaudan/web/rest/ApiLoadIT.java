@@ -0,0 +1,331 @@
+package com.givaudan.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.givaudan.GivaudanTestApp;
+import com.givaudan.config.EmbeddedSQL;
+import com.givaudan.repository.ContactDatasetGenerator;
+import com.givaudan.repository.ContactRepository;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Load test of the API: virtual users drive a mix of authentications, account reads and reads and writes of contacts
+ * through HTTP, against the application started on a random port with the PostgreSQL of the tests.
+ * <p>
+ * It only runs when the number of contacts to generate is given, for instance:
+ * {@code ./mvnw verify -Dit.test=ApiLoadIT -Dload.contacts=100000}. The contacts are generated by
+ * {@link ContactDatasetGenerator} from the seed {@code load.seed}, 42 by default.
+ * The run is tuned with the following system properties:
+ * <ul>
+ *     <li>{@code load.users}: the number of virtual users, 16 by default;</li>
+ *     <li>{@code load.warmup}: the duration of the warmup in seconds, which isn't measured, 10 by default;</li>
+ *     <li>{@code load.duration}: the duration of the measure in seconds, 60 by default;</li>
+ *     <li>{@code load.budget.p99} and {@code load.budget.p999}: the latency budgets of all the endpoints in milliseconds,
+ *     which can be set by endpoint, such as {@code load.budget.contacts.list.p99};</li>
+ *     <li>{@code load.max-error-rate}: the maximum rate of errors of each endpoint, 0.001 by default.</li>
+ * </ul>
+ * The throughput, latency distribution and error rate of each endpoint, and the heap and peak number of threads of the
+ * JVM, which also runs the virtual users, are logged and written to {@code target/load-report.json}, and the test fails
+ * if any budget is exceeded.
+ */
+@SpringBootTest(classes = GivaudanTestApp.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EmbeddedSQL
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@TestPropertySource(properties = "spring.datasource.hikari.maximum-pool-size=10")
+@EnabledIfSystemProperty(named = "load.contacts", matches = "\\d+")
+class ApiLoadIT {
+
+    private static final String NOM_PREFIX = "LOAD ";
+
+    private static final Set<Integer> OK = Set.of(200);
+
+    private final Logger log = LoggerFactory.getLogger(ApiLoadIT.class);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    private long firstId;
+
+    private long[] ids;
+
+    @BeforeEach
+    @Timeout(value = 1, unit = TimeUnit.HOURS)
+    public void init() throws Exception {
+        long rows = Long.getLong("load.contacts");
+        log.info("Generating {} Contacts", rows);
+        firstId = new ContactDatasetGenerator(Long.getLong("load.seed", 42)).generate(contactRepository, transactionManager, rows, 4);
+        jdbcTemplate.execute("analyze contact");
+        ids =
+            jdbcTemplate
+                .queryForList("select id from contact where id >= ?", Long.class, firstId)
+                .stream()
+                .mapToLong(id -> id)
+                .toArray();
+
+        // The weights are the share of each endpoint in the traffic
+        endpoints.put("authenticate", new Endpoint(2, OK));
+        endpoints.put("account", new Endpoint(10, OK));
+        endpoints.put("contacts.list", new Endpoint(25, OK));
+        endpoints.put("contacts.filter", new Endpoint(25, OK));
+        endpoints.put("contacts.get", new Endpoint(23, OK));
+        endpoints.put("contacts.create", new Endpoint(6, Set.of(201)));
+        // Concurrent updates of the same contact are expected to conflict
+        endpoints.put("contacts.patch", new Endpoint(6, Set.of(200, 409)));
+        endpoints.put("contacts.delete", new Endpoint(3, Set.of(204)));
+    }
+
+    @AfterEach
+    @Timeout(value = 1, unit = TimeUnit.HOURS)
+    public void destroy() {
+        // The contacts created by the run are deleted as well
+        jdbcTemplate.update("delete from contact where id >= ?", firstId);
+    }
+
+    @Test
+    @Timeout(value = 2, unit = TimeUnit.HOURS)
+    void load() throws Exception {
+        int users = Integer.getInteger("load.users", 16);
+        long warmup = TimeUnit.SECONDS.toNanos(Long.getLong("load.warmup", 10));
+        long duration = TimeUnit.SECONDS.toNanos(Long.getLong("load.duration", 60));
+
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                futures.add(executor.submit(() -> runUser(start + warmup + duration)));
+            }
+            TimeUnit.NANOSECONDS.sleep(warmup);
+            endpoints.values().forEach(Endpoint::reset);
+            ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+            long measureStart = System.nanoTime();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            report((System.nanoTime() - measureStart) / 1_000_000_000d);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Drive the requests of a virtual user until the deadline, with one request at a time.
+     */
+    private Void runUser(long deadline) throws Exception {
+        String token = authenticate();
+        Deque<Long> created = new ArrayDeque<>();
+        int totalWeight = endpoints.values().stream().mapToInt(Endpoint::weight).sum();
+        while (System.nanoTime() < deadline) {
+            int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+            for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+                pick -= entry.getValue().weight();
+                if (pick < 0) {
+                    token = call(entry.getKey(), entry.getValue(), token, created);
+                    break;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String call(String name, Endpoint endpoint, String token, Deque<Long> created) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = ids[random.nextInt(ids.length)];
+        HttpRequest.Builder request =
+            switch (name) {
+                case "authenticate" -> authenticateRequest();
+                case "account" -> request("/api/account").GET();
+                case "contacts.list" -> request("/api/contacts?sort=id,asc&size=20&page=" + random.nextInt(50)).GET();
+                case "contacts.filter" -> request(
+                    "/api/contacts?nom.contains=" + nomPart(random) + "&age.greaterThan=" + random.nextInt(18, 99)
+                ).GET();
+                case "contacts.get" -> request("/api/contacts/" + id).GET();
+                case "contacts.create" -> request("/api/contacts")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"nom\":\"" + NOM_PREFIX + "new\",\"age\":" + random.nextInt(100) + "}"));
+                case "contacts.patch" -> request("/api/contacts/" + id)
+                    .header("Content-Type", "application/merge-patch+json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"id\":" + id + ",\"age\":" + random.nextInt(100) + "}"));
+                case "contacts.delete" -> created.isEmpty() ? null : request("/api/contacts/" + created.poll()).DELETE();
+                default -> throw new IllegalArgumentException(name);
+            };
+        if (request == null) {
+            return token;
+        }
+        if (!"authenticate".equals(name)) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            endpoint.record(System.nanoTime() - start, response.statusCode());
+            if ("contacts.create".equals(name) && response.statusCode() == 201) {
+                created.add(objectMapper.readTree(response.body()).get("id").asLong());
+            } else if ("authenticate".equals(name) && response.statusCode() == 200) {
+                return objectMapper.readTree(response.body()).get("id_token").asText();
+            }
+        } catch (IOException e) {
+            endpoint.record(System.nanoTime() - start, -1);
+        }
+        return token;
+    }
+
+    private static String nomPart(ThreadLocalRandom random) {
+        String nom = ContactDatasetGenerator.NOMS.get(random.nextInt(ContactDatasetGenerator.NOMS.size()));
+        return nom.substring(0, 3);
+    }
+
+    private String authenticate() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(authenticateRequest().build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return objectMapper.readTree(response.body()).get("id_token").asText();
+    }
+
+    private HttpRequest.Builder authenticateRequest() {
+        return request("/api/authenticate")
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\",\"password\":\"admin\"}"));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).timeout(Duration.ofSeconds(30));
+    }
+
+    private void report(double seconds) throws IOException {
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.max-error-rate", "0.001"));
+        Map<String, Map<String, Object>> report = new LinkedHashMap<>();
+        List<String> violations = new ArrayList<>();
+        endpoints.forEach((name, endpoint) -> {
+            Histogram latencies = endpoint.latencies();
+            long requests = latencies.getTotalCount();
+            double errorRate = requests == 0 ? 0 : (double) endpoint.errors().get() / requests;
+            double p50 = millis(latencies, 50);
+            double p99 = millis(latencies, 99);
+            double p999 = millis(latencies, 99.9);
+            log.info(
+                "{}: {} requests, {} req/s, {} errors ({}%), p50 {} ms, p99 {} ms, p999 {} ms, max {} ms",
+                name,
+                requests,
+                Math.round(requests / seconds),
+                endpoint.errors().get(),
+                errorRate * 100,
+                p50,
+                p99,
+                p999,
+                latencies.getMaxValue() / 1000d
+            );
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("requests", requests);
+            result.put("throughput", requests / seconds);
+            result.put("errors", endpoint.errors().get());
+            result.put("errorRate", errorRate);
+            result.put("p50", p50);
+            result.put("p99", p99);
+            result.put("p999", p999);
+            result.put("max", latencies.getMaxValue() / 1000d);
+            report.put(name, result);
+
+            checkBudget(violations, name, "p99", p99);
+            checkBudget(violations, name, "p999", p999);
+            if (errorRate > maxErrorRate) {
+                violations.add(name + " error rate " + errorRate + " > " + maxErrorRate);
+            }
+        });
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        int peakThreads = ManagementFactory.getThreadMXBean().getPeakThreadCount();
+        log.info("JVM: heap used {} MB, committed {} MB, peak threads {}", heap.getUsed() >> 20, heap.getCommitted() >> 20, peakThreads);
+        report.put(
+            "jvm",
+            Map.of("heapUsedMb", heap.getUsed() >> 20, "heapCommittedMb", heap.getCommitted() >> 20, "peakThreads", peakThreads)
+        );
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(Path.of("target", "load-report.json").toFile(), report);
+        assertThat(violations).as("budgets exceeded").isEmpty();
+    }
+
+    private static void checkBudget(List<String> violations, String name, String percentile, double value) {
+        String budget = System.getProperty("load.budget." + name + "." + percentile, System.getProperty("load.budget." + percentile));
+        if (budget != null && value > Double.parseDouble(budget)) {
+            violations.add(name + " " + percentile + " " + value + " ms > " + budget + " ms");
+        }
+    }
+
+    private static double millis(Histogram latencies, double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000d;
+    }
+
+    /**
+     * The latencies, in microseconds, and the errors of an endpoint, whose requests are expected to return one of the
+     * given statuses.
+     */
+    private record Endpoint(int weight, Set<Integer> statuses, Histogram latencies, AtomicLong errors) {
+        Endpoint(int weight, Set<Integer> statuses) {
+            this(weight, statuses, new ConcurrentHistogram(3), new AtomicLong());
+        }
+
+        void record(long nanos, int status) {
+            latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(nanos));
+            if (!statuses.contains(status)) {
+                errors.incrementAndGet();
+            }
+        }
+
+        void reset() {
+            latencies.reset();
+            errors.set(0);
+        }
+    }
+}
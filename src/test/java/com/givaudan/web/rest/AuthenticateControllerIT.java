@@ -10,6 +10,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.givaudan.IntegrationTest;
+import com.givaudan.config.ApplicationProperties;
 import com.givaudan.domain.User;
 import com.givaudan.repository.UserRepository;
 import com.givaudan.web.rest.vm.LoginVM;
@@ -37,6 +38,9 @@ class AuthenticateControllerIT {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
     @Test
     @Transactional
     void testAuthorize() throws Exception {
@@ -84,6 +88,97 @@ class AuthenticateControllerIT {
             .andExpect(header().string("Authorization", not(is(emptyString()))));
     }
 
+    @Test
+    @Transactional
+    void testAuthorizeIsRejectedAfterTooManyFailures() throws Exception {
+        User user = new User();
+        user.setLogin("user-jwt-controller-brute-force");
+        user.setEmail("user-jwt-controller-brute-force@example.com");
+        user.setActivated(true);
+        user.setPassword(passwordEncoder.encode("test"));
+
+        userRepository.saveAndFlush(user);
+
+        LoginVM login = new LoginVM();
+        login.setUsername("user-jwt-controller-brute-force");
+        login.setPassword("wrong password");
+        for (int attempt = 0; attempt < applicationProperties.getPasswordHashing().getMaxFailedLogins(); attempt++) {
+            mockMvc
+                .perform(
+                    post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(login))
+                )
+                .andExpect(status().isUnauthorized());
+        }
+
+        // Even with the right password
+        login.setPassword("test");
+        mockMvc
+            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(login)))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().doesNotExist("Authorization"));
+
+        // But the user isn't locked out from another client
+        mockMvc
+            .perform(
+                post("/api/authenticate")
+                    .with(request -> {
+                        request.setRemoteAddr("192.0.2.2");
+                        return request;
+                    })
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(login))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id_token").isString());
+    }
+
+    @Test
+    @Transactional
+    void testAuthorizeIsRejectedAfterTooManyFailuresFromTheClientBehindTheProxy() throws Exception {
+        User user = new User();
+        user.setLogin("user-jwt-controller-proxied");
+        user.setEmail("user-jwt-controller-proxied@example.com");
+        user.setActivated(true);
+        user.setPassword(passwordEncoder.encode("test"));
+
+        userRepository.saveAndFlush(user);
+
+        LoginVM login = new LoginVM();
+        login.setUsername("user-jwt-controller-proxied");
+        login.setPassword("wrong password");
+        for (int attempt = 0; attempt < applicationProperties.getPasswordHashing().getMaxFailedLogins(); attempt++) {
+            mockMvc
+                .perform(
+                    post("/api/authenticate")
+                        .header("X-Forwarded-For", "203.0.113.1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestUtil.convertObjectToJsonBytes(login))
+                )
+                .andExpect(status().isUnauthorized());
+        }
+
+        login.setPassword("test");
+        mockMvc
+            .perform(
+                post("/api/authenticate")
+                    .header("X-Forwarded-For", "203.0.113.1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(login))
+            )
+            .andExpect(status().isTooManyRequests());
+
+        // Another client, reaching the application through the same proxy, isn't locked out
+        mockMvc
+            .perform(
+                post("/api/authenticate")
+                    .header("X-Forwarded-For", "203.0.113.2")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(login))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id_token").isString());
+    }
+
     @Test
     void testAuthorizeFails() throws Exception {
         LoginVM login = new LoginVM();
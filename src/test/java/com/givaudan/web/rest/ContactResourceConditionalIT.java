@@ -0,0 +1,112 @@
+package com.givaudan.web.rest;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.givaudan.IntegrationTest;
+import com.givaudan.domain.Contact;
+import com.givaudan.repository.ContactRepository;
+import com.givaudan.service.mapper.ContactMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests of the conditional requests of the {@link ContactResource} REST controller, which answer
+ * {@code 304 (Not Modified)} without mapping the contacts.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ContactResourceConditionalIT {
+
+    private static final String ENTITY_API_URL = "/api/contacts";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @SpyBean
+    private ContactMapper contactMapper;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restContactMockMvc;
+
+    @Test
+    @Transactional
+    void getContactNotModifiedDoesNotMapTheContact() throws Exception {
+        Contact contact = contactRepository.saveAndFlush(ContactResourceIT.createEntity(em));
+        String eTag = restContactMockMvc
+            .perform(get(ENTITY_API_URL_ID, contact.getId()))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        clearInvocations(contactMapper);
+
+        restContactMockMvc
+            .perform(get(ENTITY_API_URL_ID, contact.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        verify(contactMapper, never()).toDto(any(Contact.class));
+    }
+
+    @Test
+    @Transactional
+    void getAllContactsNotModifiedDoesNotMapTheContacts() throws Exception {
+        Contact contact = contactRepository.saveAndFlush(ContactResourceIT.createEntity(em));
+        String url = ENTITY_API_URL + "?id.equals=" + contact.getId();
+        String eTag = restContactMockMvc.perform(get(url)).andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        clearInvocations(contactMapper);
+
+        restContactMockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isNotModified());
+
+        verify(contactMapper, never()).toDto(any(Contact.class));
+        verify(contactMapper, never()).toDto(anyList());
+    }
+
+    @Test
+    @Transactional
+    void getAllContactsUnsortedHasTheETagOfItsBody() throws Exception {
+        // Equal rows, which only the sort by id puts in a single order
+        Contact first = contactRepository.saveAndFlush(ContactResourceIT.createEntity(em));
+        contactRepository.saveAndFlush(ContactResourceIT.createEntity(em));
+        String url = ENTITY_API_URL + "?size=1&id.greaterThanOrEqual=" + first.getId();
+        String eTag = restContactMockMvc
+            .perform(get(url))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restContactMockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isNotModified());
+
+        // A changed page is loaded from the ids checked, and has the ETag of the contacts sent
+        contactRepository.saveAndFlush(first.nom("BBBBBBBBBB"));
+        String changedETag = restContactMockMvc
+            .perform(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()))
+            .andExpect(jsonPath("$.[0].nom").value("BBBBBBBBBB"))
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        restContactMockMvc.perform(get(url)).andExpect(header().string(HttpHeaders.ETAG, changedETag));
+    }
+}
@@ -0,0 +1,129 @@
+package com.givaudan.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.givaudan.IntegrationTest;
+import com.givaudan.repository.ContactDatasetGenerator;
+import com.givaudan.repository.ContactRepository;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Benchmark of the sparse fieldsets of {@link ContactResource}: the pages of contacts with all their fields, read as
+ * entities and mapped to DTOs, against the pages of a few fields, read as tuples.
+ * <p>
+ * It only runs when the number of contacts to generate is given, at least 55 pages of 1000 contacts, for instance:
+ * {@code ./mvnw verify -Dit.test=ContactResourceFieldsBenchmarkIT -Dbenchmark.contact.rows=1000000}. The contacts are
+ * generated by {@link ContactDatasetGenerator} from the seed {@code benchmark.contact.seed}, 42 by default.
+ * The count of each page is served from the query cache after the first one, so both paths only differ by their reads.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@TestPropertySource(properties = "spring.datasource.hikari.maximum-pool-size=" + ContactResourceFieldsBenchmarkIT.THREADS)
+@EnabledIfSystemProperty(named = "benchmark.contact.rows", matches = "\\d+")
+class ContactResourceFieldsBenchmarkIT {
+
+    static final int THREADS = 4;
+
+    private static final int PAGE_SIZE = 1000;
+
+    private static final int WARMUP_ITERATIONS = 5;
+
+    private static final int ITERATIONS = 50;
+
+    private final Logger log = LoggerFactory.getLogger(ContactResourceFieldsBenchmarkIT.class);
+
+    @Autowired
+    private MockMvc restContactMockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private long firstId;
+
+    @BeforeEach
+    @Timeout(value = 1, unit = TimeUnit.HOURS)
+    public void init() throws Exception {
+        long rows = Long.getLong("benchmark.contact.rows");
+        log.info("Generating {} Contacts", rows);
+        ContactDatasetGenerator generator = new ContactDatasetGenerator(Long.getLong("benchmark.contact.seed", 42));
+        firstId = generator.generate(contactRepository, transactionManager, rows, THREADS);
+        jdbcTemplate.execute("analyze contact");
+    }
+
+    @AfterEach
+    @Timeout(value = 1, unit = TimeUnit.HOURS)
+    public void destroy() {
+        jdbcTemplate.update("delete from contact where id >= ?", firstId);
+    }
+
+    @Test
+    @Timeout(value = 1, unit = TimeUnit.HOURS)
+    void fields() throws Exception {
+        Measure all = measure("all fields", "");
+        Measure some = measure("fields=id,nom", "&fields=id,nom");
+        assertThat(some.bytes()).isLessThan(all.bytes());
+    }
+
+    private Measure measure(String name, String fields) throws Exception {
+        String url = "/api/contacts?sort=id,asc&size=" + PAGE_SIZE + fields;
+        long bytes = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            getPage(url, i);
+        }
+        long[] durations = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            // Each page is requested once, so that it isn't served from the query cache
+            MockHttpServletResponse response = getPage(url, WARMUP_ITERATIONS + i);
+            durations[i] = System.nanoTime() - start;
+            bytes += response.getContentAsByteArray().length;
+        }
+        long total = Arrays.stream(durations).sum();
+        Arrays.sort(durations);
+        Measure measure = new Measure(bytes / ITERATIONS, (double) PAGE_SIZE * ITERATIONS * 1_000_000_000 / total);
+        log.info(
+            "{}: {} rows/s, {} bytes/response, p50 {} ms, p99 {} ms",
+            name,
+            (long) measure.rowsPerSecond(),
+            measure.bytes(),
+            durations[ITERATIONS / 2] / 1_000_000d,
+            durations[ITERATIONS * 99 / 100 - 1] / 1_000_000d
+        );
+        return measure;
+    }
+
+    private MockHttpServletResponse getPage(String url, int page) throws Exception {
+        return restContactMockMvc
+            .perform(get(url + "&page=" + page))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse();
+    }
+
+    private record Measure(long bytes, double rowsPerSecond) {}
+}
@@ -1,16 +1,26 @@
 package com.givaudan.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.givaudan.IntegrationTest;
 import com.givaudan.domain.Contact;
 import com.givaudan.repository.ContactRepository;
+import com.givaudan.security.AuthoritiesConstants;
+import com.givaudan.service.ContactSuggestionService;
 import com.givaudan.service.dto.ContactDTO;
 import com.givaudan.service.mapper.ContactMapper;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.Cache;
 import jakarta.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
@@ -18,7 +28,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -60,6 +73,9 @@ class ContactResourceIT {
     @Autowired
     private ContactMapper contactMapper;
 
+    @Autowired
+    private ContactSuggestionService contactSuggestionService;
+
     @Autowired
     private EntityManager em;
 
@@ -126,6 +142,102 @@ class ContactResourceIT {
         assertThat(testContact.getCodepostal()).isEqualTo(DEFAULT_CODEPOSTAL);
     }
 
+    @Test
+    @Transactional
+    void createContacts() throws Exception {
+        int databaseSizeBeforeCreate = contactRepository.findAll().size();
+        // Create the Contacts, the second one is rejected as it already has an ID
+        ContactDTO contactDTO = contactMapper.toDto(contact);
+        ContactDTO contactWithIdDTO = contactMapper.toDto(createEntity(em).id(1L));
+        ContactDTO otherContactDTO = contactMapper.toDto(createUpdatedEntity(em));
+        restContactMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(contactDTO, contactWithIdDTO, otherContactDTO)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.succeeded").value(2))
+            .andExpect(jsonPath("$.failed").value(1))
+            .andExpect(jsonPath("$.items.[*].status").value(contains("CREATED", "REJECTED", "CREATED")))
+            .andExpect(jsonPath("$.items.[1].error").value("idexists"))
+            .andExpect(jsonPath("$.items.[2].contact.nom").value(UPDATED_NOM));
+
+        // Validate the Contacts in the database
+        List<Contact> contactList = contactRepository.findAll();
+        assertThat(contactList).hasSize(databaseSizeBeforeCreate + 2);
+    }
+
+    @Test
+    @Transactional
+    void createContactsWithEmptyList() throws Exception {
+        restContactMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_JSON).content("[]"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void importContacts() throws Exception {
+        int databaseSizeBeforeImport = contactRepository.findAll().size();
+        MockMultipartFile file = new MockMultipartFile(
+            "file",
+            "contacts.csv",
+            "text/csv",
+            (
+                "id;nom;prenom;age;address;codepostal\n" +
+                ";" +
+                DEFAULT_NOM +
+                ";" +
+                DEFAULT_PRENOM +
+                ";" +
+                DEFAULT_AGE +
+                ";\"1, rue \"\"A\"\"\";" +
+                DEFAULT_CODEPOSTAL +
+                "\n" +
+                "99;" +
+                UPDATED_NOM +
+                ";;not a number;;\n"
+            ).getBytes(StandardCharsets.UTF_8)
+        );
+
+        restContactMockMvc
+            .perform(multipart(ENTITY_API_URL + "/import").file(file))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1))
+            .andExpect(jsonPath("$.rejected").value(1))
+            .andExpect(jsonPath("$.errors.[0]").value(containsString("age")));
+
+        // Validate the Contacts in the database
+        em.clear();
+        List<Contact> contactList = contactRepository.findAll();
+        assertThat(contactList).hasSize(databaseSizeBeforeImport + 1);
+        assertThat(contactList).anySatisfy(imported -> {
+            assertThat(imported.getNom()).isEqualTo(DEFAULT_NOM);
+            assertThat(imported.getPrenom()).isEqualTo(DEFAULT_PRENOM);
+            assertThat(imported.getAddress()).isEqualTo("1, rue \"A\"");
+            assertThat(imported.getCodepostal()).isEqualTo(DEFAULT_CODEPOSTAL);
+        });
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void importContactsWithUnknownColumn() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "contacts.csv", "text/csv", "email\n".getBytes(StandardCharsets.UTF_8));
+
+        restContactMockMvc.perform(multipart(ENTITY_API_URL + "/import").file(file)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void importContactsIsForbiddenForUsers() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "contacts.csv", "text/csv", "nom\n".getBytes(StandardCharsets.UTF_8));
+
+        restContactMockMvc.perform(multipart(ENTITY_API_URL + "/import").file(file)).andExpect(status().isForbidden());
+    }
+
     @Test
     @Transactional
     void createContactWithExistingId() throws Exception {
@@ -164,6 +276,259 @@ class ContactResourceIT {
             .andExpect(jsonPath("$.[*].codepostal").value(hasItem(DEFAULT_CODEPOSTAL)));
     }
 
+    @Test
+    @Transactional
+    void getAllContactsWithKeysetPagination() throws Exception {
+        // Initialize the database
+        Contact first = contactRepository.saveAndFlush(createEntity(em).nom("AAAAAAAAAA"));
+        Contact second = contactRepository.saveAndFlush(createEntity(em).nom("BBBBBBBBBB"));
+        Contact third = contactRepository.saveAndFlush(createEntity(em).nom(null));
+        String filter = "id.in=" + first.getId() + "," + second.getId() + "," + third.getId();
+
+        // Get the first page, nulls are sorted last
+        String link = restContactMockMvc
+            .perform(get(ENTITY_API_URL + "?pagination=keyset&size=2&sort=nom,asc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue(), second.getId().intValue())))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LINK);
+
+        // Follow the next link
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        restContactMockMvc
+            .perform(get(next))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.LINK))
+            .andExpect(jsonPath("$.[*].id").value(contains(third.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllContactsWithDescendingKeysetPagination() throws Exception {
+        // Initialize the database
+        Contact first = contactRepository.saveAndFlush(createEntity(em).nom("AAAAAAAAAA"));
+        Contact second = contactRepository.saveAndFlush(createEntity(em).nom("BBBBBBBBBB"));
+        Contact third = contactRepository.saveAndFlush(createEntity(em).nom(null));
+        Contact fourth = contactRepository.saveAndFlush(createEntity(em).nom(null));
+        String filter = "id.in=" + first.getId() + "," + second.getId() + "," + third.getId() + "," + fourth.getId();
+
+        // Nulls are sorted first, then the ids follow the direction of the sort
+        List<Integer> ids = new ArrayList<>();
+        String next = ENTITY_API_URL + "?pagination=keyset&size=1&sort=nom,desc&" + filter;
+        while (next != null) {
+            MockHttpServletResponse response = restContactMockMvc.perform(get(next)).andExpect(status().isOk()).andReturn().getResponse();
+            ids.addAll(JsonPath.read(response.getContentAsString(), "$.[*].id"));
+            String link = response.getHeader(HttpHeaders.LINK);
+            next = link == null ? null : link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        }
+
+        assertThat(ids)
+            .containsExactly(fourth.getId().intValue(), third.getId().intValue(), second.getId().intValue(), first.getId().intValue());
+    }
+
+    @Test
+    @Transactional
+    void getAllContactsWithFields() throws Exception {
+        // Initialize the database
+        contactRepository.saveAndFlush(contact);
+
+        restContactMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&fields=nom,age&id.equals=" + contact.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andExpect(jsonPath("$.[0].id").value(contact.getId().intValue()))
+            .andExpect(jsonPath("$.[0].nom").value(DEFAULT_NOM))
+            .andExpect(jsonPath("$.[0].age").value(DEFAULT_AGE))
+            .andExpect(jsonPath("$.[0].prenom").doesNotExist())
+            .andExpect(jsonPath("$.[0].address").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getAllContactsWithInvalidFields() throws Exception {
+        restContactMockMvc.perform(get(ENTITY_API_URL + "?fields=nom,unknown")).andExpect(status().isBadRequest());
+        restContactMockMvc.perform(get(ENTITY_API_URL + "?fields=nom&pagination=keyset")).andExpect(status().isBadRequest());
+        restContactMockMvc.perform(get(ENTITY_API_URL + "?fields=nom&count=estimated")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllContactsWithSlicePagination() throws Exception {
+        // Initialize the database
+        Contact first = contactRepository.saveAndFlush(createEntity(em));
+        Contact second = contactRepository.saveAndFlush(createEntity(em));
+        Contact third = contactRepository.saveAndFlush(createEntity(em));
+        String filter = "id.in=" + first.getId() + "," + second.getId() + "," + third.getId();
+
+        // Get the first page, without total count
+        String link = restContactMockMvc
+            .perform(get(ENTITY_API_URL + "?pagination=slice&page=0&size=2&sort=id,asc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue(), second.getId().intValue())))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LINK);
+
+        // Follow the next link
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        restContactMockMvc
+            .perform(get(next))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK))
+            .andExpect(jsonPath("$.[*].id").value(contains(third.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllContactsWithInvalidCursor() throws Exception {
+        restContactMockMvc.perform(get(ENTITY_API_URL + "?after=invalid&sort=nom,asc")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void exportContactsAsNdjson() throws Exception {
+        // Initialize the database
+        contactRepository.saveAndFlush(contact);
+
+        restContactMockMvc
+            .perform(get(ENTITY_API_URL + "/export?id.equals=" + contact.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string(startsWith("{\"id\":" + contact.getId() + ",\"nom\":\"" + DEFAULT_NOM + "\"")))
+            .andExpect(content().string(endsWith("}\n")));
+    }
+
+    @Test
+    @Transactional
+    void exportContactsAsCsv() throws Exception {
+        // Initialize the database
+        contactRepository.saveAndFlush(contact);
+
+        restContactMockMvc
+            .perform(get(ENTITY_API_URL + "/export?format=csv&id.equals=" + contact.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andExpect(
+                content()
+                    .string(
+                        "id;nom;prenom;age;address;codepostal\n" +
+                        contact.getId() +
+                        ";" +
+                        DEFAULT_NOM +
+                        ";" +
+                        DEFAULT_PRENOM +
+                        ";" +
+                        DEFAULT_AGE +
+                        ";" +
+                        DEFAULT_ADDRESS +
+                        ";" +
+                        DEFAULT_CODEPOSTAL +
+                        "\n"
+                    )
+            );
+    }
+
+    @Test
+    void exportContactsBypassesTheSecondLevelCache() throws Exception {
+        // Committed, for the contacts loaded afterwards to be cacheable
+        contactRepository.saveAndFlush(contact);
+        Cache cache = em.getEntityManagerFactory().getCache();
+        try {
+            cache.evict(Contact.class);
+
+            restContactMockMvc.perform(get(ENTITY_API_URL + "/export?id.equals=" + contact.getId())).andExpect(status().isOk());
+
+            assertThat(cache.contains(Contact.class, contact.getId())).isFalse();
+        } finally {
+            contactRepository.delete(contact);
+        }
+    }
+
+    @Test
+    @Transactional
+    void exportContactsWithUnsupportedFormat() throws Exception {
+        restContactMockMvc.perform(get(ENTITY_API_URL + "/export?format=xml")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllContactsWithEstimatedCount() throws Exception {
+        // Committed, for the counts read afterwards to be cacheable
+        contactRepository.saveAndFlush(contact);
+        try {
+            // The last page gives the exact count
+            restContactMockMvc
+                .perform(get(ENTITY_API_URL + "?count=estimated&sort=id,desc&id.equals=" + contact.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "1"))
+                .andExpect(header().string("X-Total-Count-Accuracy", "exact"))
+                .andExpect(jsonPath("$.[*].id").value(contains(contact.getId().intValue())));
+
+            // The count of a filter is cached, so a second count is estimated
+            restContactMockMvc
+                .perform(get(ENTITY_API_URL + "/count?count=estimated&id.equals=" + contact.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count-Accuracy", "exact"))
+                .andExpect(content().string("1"));
+            restContactMockMvc
+                .perform(get(ENTITY_API_URL + "/count?count=estimated&id.equals=" + contact.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count-Accuracy", "estimated"))
+                .andExpect(content().string("1"));
+        } finally {
+            restContactMockMvc.perform(delete(ENTITY_API_URL_ID, contact.getId())).andExpect(status().isNoContent());
+        }
+
+        // Deleting the contact drops the cached count
+        restContactMockMvc
+            .perform(get(ENTITY_API_URL + "/count?count=estimated&id.equals=" + contact.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count-Accuracy", "exact"))
+            .andExpect(content().string("0"));
+    }
+
+    @Test
+    @Transactional
+    void getAllContactsWithInvalidCountMode() throws Exception {
+        restContactMockMvc.perform(get(ENTITY_API_URL + "?count=approximate")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void suggestContacts() throws Exception {
+        // Initialize the database, and the suggestions which are otherwise updated once the transaction is committed
+        contactRepository.saveAndFlush(contact.nom("Zyxwvut"));
+        contactRepository.saveAndFlush(createEntity(em).nom("Zyxwvut"));
+        contactRepository.saveAndFlush(createEntity(em).nom("Zyxabc").prenom("Zyxwvut"));
+        contactSuggestionService.rebuild();
+
+        restContactMockMvc
+            .perform(get(ENTITY_API_URL + "/suggest?prefix=zyxw"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].field").value(contains("nom", "prenom")))
+            .andExpect(jsonPath("$.[*].value").value(contains("Zyxwvut", "Zyxwvut")))
+            .andExpect(jsonPath("$.[*].count").value(contains(2, 1)));
+
+        restContactMockMvc
+            .perform(get(ENTITY_API_URL + "/suggest?prefix=ZYX&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].value").value(contains("Zyxwvut")));
+    }
+
+    @Test
+    @Transactional
+    void suggestContactsWithInvalidSize() throws Exception {
+        restContactMockMvc.perform(get(ENTITY_API_URL + "/suggest?prefix=a&size=0")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getContact() throws Exception {
@@ -266,6 +631,23 @@ class ContactResourceIT {
         defaultContactShouldBeFound("nom.doesNotContain=" + UPDATED_NOM);
     }
 
+    @Test
+    @Transactional
+    void getAllContactsByNomContainsWildcards() throws Exception {
+        // Initialize the database
+        contactRepository.saveAndFlush(contact.nom("A%_\\A"));
+
+        // Get all the contactList where nom contains the wildcards, matched literally
+        restContactMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&nom.contains={value}", "a%_\\"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(contact.getId().intValue())));
+
+        // Get all the contactList where nom contains a wildcard standing for another character
+        defaultContactShouldNotBeFound("nom.contains=_A");
+        defaultContactShouldNotBeFound("nom.contains=A%25A");
+    }
+
     @Test
     @Transactional
     void getAllContactsByPrenomIsEqualToSomething() throws Exception {
@@ -627,6 +1009,126 @@ class ContactResourceIT {
         restContactMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getContactWithETag() throws Exception {
+        // Initialize the database
+        contactRepository.saveAndFlush(contact);
+
+        String eTag = restContactMockMvc
+            .perform(get(ENTITY_API_URL_ID, contact.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + contact.getVersion() + "\""))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")))
+            .andExpect(jsonPath("$.version").value(contact.getVersion().intValue()))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // The contact didn't change
+        restContactMockMvc
+            .perform(get(ENTITY_API_URL_ID, contact.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().string(""));
+
+        // Update the contact, which increments its version
+        contactRepository.saveAndFlush(contact.nom(UPDATED_NOM));
+
+        restContactMockMvc
+            .perform(get(ENTITY_API_URL_ID, contact.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + contact.getVersion() + "\""))
+            .andExpect(jsonPath("$.nom").value(UPDATED_NOM));
+    }
+
+    @Test
+    @Transactional
+    void getAllContactsWithETag() throws Exception {
+        // Initialize the database
+        contactRepository.saveAndFlush(contact);
+        String url = ENTITY_API_URL + "?sort=id,asc&id.equals=" + contact.getId();
+
+        String eTag = restContactMockMvc
+            .perform(get(url))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // The contacts didn't change
+        restContactMockMvc
+            .perform(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(content().string(""));
+
+        // Update the contact, which increments its version
+        contactRepository.saveAndFlush(contact.nom(UPDATED_NOM));
+
+        restContactMockMvc
+            .perform(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].nom").value(hasItem(UPDATED_NOM)));
+    }
+
+    @Test
+    @Transactional
+    void getAllContactsPageWithETag() throws Exception {
+        // Initialize the database
+        contactRepository.saveAndFlush(contact);
+        contactRepository.saveAndFlush(createEntity(em));
+        String url = ENTITY_API_URL + "?sort=id,asc&size=1&id.greaterThanOrEqual=" + contact.getId();
+
+        String eTag = restContactMockMvc
+            .perform(get(url))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // The ETag checked before loading the page matches the one of the loaded page, with its pagination headers
+        restContactMockMvc
+            .perform(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(header().exists(HttpHeaders.LINK))
+            .andExpect(content().string(""));
+
+        // A new contact changes the total, not the contacts of the page
+        contactRepository.saveAndFlush(createEntity(em));
+        restContactMockMvc
+            .perform(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "3"));
+    }
+
+    @Test
+    @Transactional
+    void partialUpdateContactWithOutdatedVersion() throws Exception {
+        // Initialize the database
+        contactRepository.saveAndFlush(contact);
+        Long outdatedVersion = contact.getVersion();
+        contactRepository.saveAndFlush(contact.nom(UPDATED_NOM));
+
+        ContactDTO contactDTO = new ContactDTO();
+        contactDTO.setId(contact.getId());
+        contactDTO.setPrenom(UPDATED_PRENOM);
+        contactDTO.setVersion(outdatedVersion);
+
+        restContactMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, contact.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(contactDTO))
+            )
+            .andExpect(status().isConflict());
+    }
+
     @Test
     @Transactional
     void putExistingContact() throws Exception {
@@ -661,6 +1163,33 @@ class ContactResourceIT {
         assertThat(testContact.getCodepostal()).isEqualTo(UPDATED_CODEPOSTAL);
     }
 
+    @Test
+    @Transactional
+    void putExistingContacts() throws Exception {
+        // Initialize the database
+        contactRepository.saveAndFlush(contact);
+
+        // Update the contact, and try to update a non existing one
+        ContactDTO contactDTO = contactMapper.toDto(createUpdatedEntity(em).id(contact.getId()));
+        ContactDTO nonExistingContactDTO = contactMapper.toDto(createUpdatedEntity(em).id(count.incrementAndGet()));
+        restContactMockMvc
+            .perform(
+                put(ENTITY_API_URL + "/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(contactDTO, nonExistingContactDTO)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.succeeded").value(1))
+            .andExpect(jsonPath("$.failed").value(1))
+            .andExpect(jsonPath("$.items.[0].status").value("UPDATED"))
+            .andExpect(jsonPath("$.items.[1].error").value("idnotfound"));
+
+        // Validate the Contact in the database
+        Contact testContact = contactRepository.findById(contact.getId()).orElseThrow();
+        assertThat(testContact.getNom()).isEqualTo(UPDATED_NOM);
+        assertThat(testContact.getCodepostal()).isEqualTo(UPDATED_CODEPOSTAL);
+    }
+
     @Test
     @Transactional
     void putNonExistingContact() throws Exception {